@@ -0,0 +1,74 @@
+package com.poalimflex.service.amortization;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the term extension solver, as run inline by simulate and recommendation requests.
+ * Run with {@code mvn -Pbenchmark verify}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TermExtensionSolverBenchmark {
+    private final TermExtensionSolver solver = new TermExtensionSolver();
+    private final AmortizationEngine engine = new AmortizationEngine();
+
+    @Param({"1", "6"})
+    private int reducedMonths;
+
+    private long balance;
+    private long monthlyRate;
+    private long payment;
+    private long reduction;
+
+    @Setup
+    public void setUp() {
+        balance = 1_500_000_00L;
+        monthlyRate = engine.monthlyRateMicros(new BigDecimal("3.75"));
+        payment = 7_000_00L;
+        reduction = 1_500_00L;
+    }
+
+    @Benchmark
+    public int additionalMonths() {
+        return solver.additionalMonths(balance, monthlyRate, payment, reduction, reducedMonths);
+    }
+
+    /**
+     * Month-by-month baseline the closed form replaces
+     */
+    @Benchmark
+    public int iteratedAdditionalMonths() {
+        long original = balance;
+        int originalMonths = 0;
+        while (original > 0) {
+            original -= payment - engine.monthlyInterest(original, monthlyRate);
+            originalMonths++;
+        }
+
+        long reduced = balance;
+        int reducedTermMonths = 0;
+        while (reduced > 0) {
+            long paid = reducedTermMonths < reducedMonths ? payment - reduction : payment;
+            reduced -= paid - engine.monthlyInterest(reduced, monthlyRate);
+            reducedTermMonths++;
+        }
+        return reducedTermMonths - originalMonths;
+    }
+}
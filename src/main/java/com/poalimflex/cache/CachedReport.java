@@ -0,0 +1,17 @@
+package com.poalimflex.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A computed report together with the time its computation started, which bounds the age of its data
+ *
+ * @param <T> Report type
+ */
+public record CachedReport<T>(T value, Instant computedAt) {
+
+    public Duration age() {
+        Duration age = Duration.between(computedAt, Instant.now());
+        return age.isNegative() ? Duration.ZERO : age;
+    }
+}
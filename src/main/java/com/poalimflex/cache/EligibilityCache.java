@@ -0,0 +1,80 @@
+package com.poalimflex.cache;
+
+import com.poalimflex.repository.AdjustmentEligibilityResult;
+import com.poalimflex.repository.MortgageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * Cache of adjustment eligibility decisions keyed by user ID. Entries are dropped whenever a mortgage or
+ * adjustment of the user is written: by the writer through {@link #writeFor}, which already knows the user,
+ * and otherwise by {@link EligibilityCacheInvalidationListener}. The TTL only bounds drift of the rolling
+ * one-year adjustment window.
+ */
+@Component
+public class EligibilityCache {
+    private final MortgageRepository mortgageRepository;
+    private final SingleFlightCache<String, AdjustmentEligibilityResult> cache;
+    private final int maxAnnualAdjustments;
+
+    /**
+     * User whose write is running on this thread through {@link #writeFor}
+     */
+    private final ThreadLocal<String> writingUser = new ThreadLocal<>();
+
+    public EligibilityCache(
+            MortgageRepository mortgageRepository,
+            MeterRegistry meterRegistry,
+            @Value("${poalim.flex.cache.eligibility.ttl:60s}") Duration ttl,
+            @Value("${poalim.flex.cache.eligibility.max-size:10000}") int maxSize,
+            @Value("${poalim.flex.mortgage.max-annual-adjustments:4}") int maxAnnualAdjustments) {
+        this.mortgageRepository = mortgageRepository;
+        this.cache = new SingleFlightCache<>("eligibility", ttl, maxSize, meterRegistry);
+        this.maxAnnualAdjustments = maxAnnualAdjustments;
+    }
+
+    public AdjustmentEligibilityResult get(String userId) {
+        return get(userId, () -> { });
+    }
+
+    /**
+     * Return the eligibility decision for a user, running {@code onLoad} only if MongoDB is queried
+     */
+    public AdjustmentEligibilityResult get(String userId, Runnable onLoad) {
+        return cache.get(userId, id -> {
+            onLoad.run();
+            return mortgageRepository.evaluateAdjustmentEligibility(
+                    id, LocalDateTime.now().minusYears(1), maxAnnualAdjustments);
+        });
+    }
+
+    public void invalidate(String userId) {
+        cache.invalidate(userId);
+    }
+
+    /**
+     * Run a write of the user's mortgages or adjustments, then drop the user's decision. Save events of
+     * the write are left to this method, so the listener does not look up who owns the written document.
+     */
+    public <T> T writeFor(String userId, Supplier<T> write) {
+        writingUser.set(userId);
+        try {
+            return write.get();
+        } finally {
+            writingUser.remove();
+            invalidate(userId);
+        }
+    }
+
+    /**
+     * Whether the current thread is inside {@link #writeFor}, which invalidates on its own
+     */
+    boolean isWriteInvalidatedByCaller() {
+        return writingUser.get() != null;
+    }
+}
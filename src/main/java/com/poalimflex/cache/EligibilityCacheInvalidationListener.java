@@ -0,0 +1,95 @@
+package com.poalimflex.cache;
+
+import com.poalimflex.entity.Mortgage;
+import com.poalimflex.entity.MortgageAdjustment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeDeleteEvent;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Drops cached eligibility decisions when a mortgage or mortgage adjustment is saved or deleted outside
+ * {@link EligibilityCache#writeFor}. Resolving the owner of an adjustment costs a mortgage lookup, which
+ * writes through {@code writeFor} avoid. Deletes only carry the deleted document's ID, so the owning user
+ * is resolved before the delete and invalidated again once it has completed.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class EligibilityCacheInvalidationListener extends AbstractMongoEventListener<Object> {
+    private final EligibilityCache eligibilityCache;
+    private final MongoTemplate mongoTemplate;
+
+    private final Map<Document, String> pendingDeletes = new ConcurrentHashMap<>();
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        if (event.getSource() instanceof Mortgage mortgage) {
+            invalidate(mortgage.getUserId());
+        } else if (event.getSource() instanceof MortgageAdjustment adjustment
+                && !eligibilityCache.isWriteInvalidatedByCaller()) {
+            findUserIdForMortgage(adjustment.getMortgageId()).ifPresent(this::invalidate);
+        }
+    }
+
+    @Override
+    public void onBeforeDelete(BeforeDeleteEvent<Object> event) {
+        resolveUserIdForDelete(event.getType(), event.getDocument()).ifPresent(userId -> {
+            invalidate(userId);
+            pendingDeletes.put(event.getDocument(), userId);
+        });
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        String userId = pendingDeletes.remove(event.getDocument());
+        if (userId != null) {
+            invalidate(userId);
+        }
+    }
+
+    private Optional<String> resolveUserIdForDelete(Class<?> type, Document deleteQuery) {
+        if (Mortgage.class.equals(type)) {
+            Query query = new BasicQuery(deleteQuery);
+            query.fields().include("userId");
+            return Optional.ofNullable(mongoTemplate.findOne(query, Mortgage.class))
+                    .map(Mortgage::getUserId);
+        }
+        if (MortgageAdjustment.class.equals(type)) {
+            Query query = new BasicQuery(deleteQuery);
+            query.fields().include("mortgageId");
+            return Optional.ofNullable(mongoTemplate.findOne(query, MortgageAdjustment.class))
+                    .flatMap(adjustment -> findUserIdForMortgage(adjustment.getMortgageId()));
+        }
+        return Optional.empty();
+    }
+
+    private Optional<String> findUserIdForMortgage(String mortgageId) {
+        if (mortgageId == null) {
+            return Optional.empty();
+        }
+        Query query = new Query(Criteria.where("id").is(mortgageId));
+        query.fields().include("userId");
+        return Optional.ofNullable(mongoTemplate.findOne(query, Mortgage.class))
+                .map(Mortgage::getUserId);
+    }
+
+    private void invalidate(String userId) {
+        if (userId != null) {
+            log.debug("Invalidating cached eligibility for user {}", userId);
+            eligibilityCache.invalidate(userId);
+        }
+    }
+}
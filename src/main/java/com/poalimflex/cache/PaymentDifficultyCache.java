@@ -0,0 +1,33 @@
+package com.poalimflex.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Cache of payment difficulty scores keyed by user ID. The score depends only on the user's financial
+ * profile, and {@link PaymentDifficultyCacheInvalidationListener} drops the entry whenever that profile
+ * is saved or deleted.
+ */
+@Component
+public class PaymentDifficultyCache {
+    private final SingleFlightCache<String, Double> cache;
+
+    public PaymentDifficultyCache(
+            MeterRegistry meterRegistry,
+            @Value("${poalim.flex.cache.payment-difficulty.ttl:10m}") Duration ttl,
+            @Value("${poalim.flex.cache.payment-difficulty.max-size:10000}") int maxSize) {
+        this.cache = new SingleFlightCache<>("payment-difficulty", ttl, maxSize, meterRegistry);
+    }
+
+    public double get(String userId, ToDoubleFunction<String> loader) {
+        return cache.get(userId, loader::applyAsDouble);
+    }
+
+    public void invalidate(String userId) {
+        cache.invalidate(userId);
+    }
+}
@@ -0,0 +1,62 @@
+package com.poalimflex.cache;
+
+import com.poalimflex.entity.UserFinancialProfile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeDeleteEvent;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Drops cached payment difficulty scores when a financial profile is saved or deleted. As with
+ * {@link EligibilityCacheInvalidationListener}, the owning user of a delete is resolved beforehand.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PaymentDifficultyCacheInvalidationListener extends AbstractMongoEventListener<UserFinancialProfile> {
+    private final PaymentDifficultyCache paymentDifficultyCache;
+    private final MongoTemplate mongoTemplate;
+
+    private final Map<Document, String> pendingDeletes = new ConcurrentHashMap<>();
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<UserFinancialProfile> event) {
+        invalidate(event.getSource().getUserId());
+    }
+
+    @Override
+    public void onBeforeDelete(BeforeDeleteEvent<UserFinancialProfile> event) {
+        Query query = new BasicQuery(event.getDocument());
+        query.fields().include("userId");
+        UserFinancialProfile profile = mongoTemplate.findOne(query, UserFinancialProfile.class);
+        if (profile != null && profile.getUserId() != null) {
+            invalidate(profile.getUserId());
+            pendingDeletes.put(event.getDocument(), profile.getUserId());
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<UserFinancialProfile> event) {
+        String userId = pendingDeletes.remove(event.getDocument());
+        if (userId != null) {
+            invalidate(userId);
+        }
+    }
+
+    private void invalidate(String userId) {
+        if (userId != null) {
+            log.debug("Invalidating cached payment difficulty for user {}", userId);
+            paymentDifficultyCache.invalidate(userId);
+        }
+    }
+}
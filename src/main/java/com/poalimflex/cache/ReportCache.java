@@ -0,0 +1,212 @@
+package com.poalimflex.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Stale-while-revalidate cache for admin reports keyed by {@link ReportKey}. A report younger than
+ * {@code refresh-after} is served as is. An older one is still served immediately while a single
+ * background refresh per key recomputes it on the {@code reportRefreshExecutor}. Only when no report
+ * exists, or the last one is older than {@code max-age}, does a caller wait for the computation, and
+ * concurrent callers for the same key share that one computation.
+ *
+ * <p>Lookups are published to {@code poalimflex.cache.requests{cache="reports"}} with results
+ * {@code hit}, {@code stale} and {@code miss}.
+ */
+@Component
+@Slf4j
+public class ReportCache {
+    private static final String NAME = "reports";
+
+    private final ThreadPoolTaskExecutor refreshExecutor;
+    private final Duration refreshAfter;
+    private final Duration maxAge;
+    private final int maxSize;
+    private final Map<ReportKey, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter refreshFailures;
+    private final Counter sizeEvictions;
+
+    public ReportCache(
+            MeterRegistry meterRegistry,
+            @Qualifier("reportRefreshExecutor") ThreadPoolTaskExecutor refreshExecutor,
+            @Value("${poalim.flex.cache.reports.refresh-after:30s}") Duration refreshAfter,
+            @Value("${poalim.flex.cache.reports.max-age:10m}") Duration maxAge,
+            @Value("${poalim.flex.cache.reports.max-size:500}") int maxSize) {
+        this.refreshExecutor = refreshExecutor;
+        this.refreshAfter = refreshAfter;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.staleHits = requestCounter(meterRegistry, "stale");
+        this.misses = requestCounter(meterRegistry, "miss");
+        this.refreshFailures = Counter.builder("poalimflex.cache.refresh.failures")
+                .description("Background refreshes that failed and left the previous value in place")
+                .tag("cache", NAME)
+                .register(meterRegistry);
+        this.sizeEvictions = Counter.builder("poalimflex.cache.evictions")
+                .description("Entries removed from the cache by cause")
+                .tag("cache", NAME)
+                .tag("cause", "size")
+                .register(meterRegistry);
+        Gauge.builder("poalimflex.cache.size", entries, Map::size)
+                .description("Number of entries currently cached")
+                .tag("cache", NAME)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Return the last computed report for a key, computing it first if there is none or it has exceeded
+     * the maximum age, and starting a background refresh if it is due for one
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CachedReport<T> get(ReportKey key, Supplier<T> loader) {
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+        CachedReport<?> current = entry.current;
+        if (current != null) {
+            Duration age = current.age();
+            if (age.compareTo(refreshAfter) < 0) {
+                hits.increment();
+                return (CachedReport<T>) current;
+            }
+            if (age.compareTo(maxAge) < 0) {
+                staleHits.increment();
+                refreshInBackground(key, entry, loader);
+                return (CachedReport<T>) current;
+            }
+        }
+
+        misses.increment();
+        evictIfOversized();
+        return (CachedReport<T>) await(load(key, entry, loader, false));
+    }
+
+    /**
+     * Drop every cached date range of a report, so the next request recomputes it
+     */
+    public void invalidate(String report) {
+        entries.keySet().removeIf(key -> key.report().equals(report));
+    }
+
+    private void refreshInBackground(ReportKey key, Entry entry, Supplier<?> loader) {
+        load(key, entry, loader, true).exceptionally(e -> {
+            refreshFailures.increment();
+            log.warn("Background refresh of report {} failed, serving the previous result", key, e);
+            return null;
+        });
+    }
+
+    /**
+     * Start a computation for the key unless one is already in flight, in which case that one is returned
+     */
+    private CompletableFuture<CachedReport<?>> load(ReportKey key, Entry entry, Supplier<?> loader, boolean async) {
+        CompletableFuture<CachedReport<?>> future;
+        synchronized (entry) {
+            if (entry.inFlight != null) {
+                return entry.inFlight;
+            }
+            future = new CompletableFuture<>();
+            entry.inFlight = future;
+        }
+
+        Runnable compute = () -> {
+            try {
+                // Stamped with the start time: the data can be no older than this
+                Instant startedAt = Instant.now();
+                CachedReport<?> report = new CachedReport<>(loader.get(), startedAt);
+                entry.current = report;
+                future.complete(report);
+            } catch (RuntimeException e) {
+                if (entry.current == null) {
+                    entries.remove(key, entry);
+                }
+                future.completeExceptionally(e);
+            } finally {
+                synchronized (entry) {
+                    entry.inFlight = null;
+                }
+            }
+        };
+
+        if (!async) {
+            compute.run();
+            return future;
+        }
+
+        try {
+            refreshExecutor.execute(compute);
+        } catch (TaskRejectedException e) {
+            // Refresh pool saturated; keep serving the current value and retry on a later request
+            synchronized (entry) {
+                entry.inFlight = null;
+            }
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private void evictIfOversized() {
+        int excess = entries.size() - maxSize;
+        if (excess <= 0) {
+            return;
+        }
+
+        // Evict the least recently computed reports, leaving headroom so eviction is not triggered on every miss
+        excess += maxSize / 10;
+        entries.entrySet().stream()
+                .filter(e -> e.getValue().current != null && e.getValue().inFlight == null)
+                .sorted(Comparator.comparing(e -> e.getValue().current.computedAt()))
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(k -> {
+                    if (entries.remove(k) != null) {
+                        sizeEvictions.increment();
+                    }
+                });
+    }
+
+    private static CachedReport<?> await(CompletableFuture<CachedReport<?>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("poalimflex.cache.requests")
+                .description("Cache lookups by outcome")
+                .tag("cache", NAME)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static final class Entry {
+        private volatile CachedReport<?> current;
+        private volatile CompletableFuture<CachedReport<?>> inFlight;
+    }
+}
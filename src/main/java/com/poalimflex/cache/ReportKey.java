@@ -0,0 +1,14 @@
+package com.poalimflex.cache;
+
+import java.time.LocalDate;
+
+/**
+ * Identifies one cached admin report: the report type and the requested date range. Reports without a
+ * date range, and requests that leave a bound open, use null for the missing bound.
+ */
+public record ReportKey(String report, LocalDate fromDate, LocalDate toDate) {
+
+    public static ReportKey of(String report) {
+        return new ReportKey(report, null, null);
+    }
+}
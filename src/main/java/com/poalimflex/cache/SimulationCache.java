@@ -0,0 +1,33 @@
+package com.poalimflex.cache;
+
+import com.poalimflex.dto.mortage.adjustment.AdjustmentSimulationResultDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Memoized simulation results keyed by {@link SimulationKey}. A result is a pure function of its key,
+ * so entries never need invalidation; the size bound and TTL only limit memory. Hit ratio is available
+ * from {@code poalimflex.cache.requests{cache="simulation"}}.
+ *
+ * <p>Cached results hold only the mortgage-derived figures. Eligibility, risk score and suggestions
+ * are per user and are filled in by the caller on every request.
+ */
+@Component
+public class SimulationCache {
+    private final SingleFlightCache<SimulationKey, AdjustmentSimulationResultDto> cache;
+
+    public SimulationCache(
+            MeterRegistry meterRegistry,
+            @Value("${poalim.flex.cache.simulation.ttl:30m}") Duration ttl,
+            @Value("${poalim.flex.cache.simulation.max-size:5000}") int maxSize) {
+        this.cache = new SingleFlightCache<>("simulation", ttl, maxSize, meterRegistry);
+    }
+
+    public AdjustmentSimulationResultDto get(SimulationKey key, Supplier<AdjustmentSimulationResultDto> loader) {
+        return cache.get(key, k -> loader.get());
+    }
+}
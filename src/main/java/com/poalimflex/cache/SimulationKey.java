@@ -0,0 +1,44 @@
+package com.poalimflex.cache;
+
+import com.poalimflex.dto.mortage.adjustment.AdjustmentSimulationRequestDto;
+import com.poalimflex.dto.mortage.adjustment.MortgageAdjustmentRequestDto.RepaymentStrategy;
+import com.poalimflex.entity.Mortgage;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Fingerprint of every input a simulation result depends on. Mortgage fields are part of the key, so a
+ * changed balance, rate, payment or term simply misses instead of requiring invalidation. Amounts are
+ * normalized so that {@code 1500} and {@code 1500.00} produce the same key.
+ */
+public record SimulationKey(
+        String accountNumber,
+        BigDecimal currentBalance,
+        BigDecimal interestRate,
+        Integer remainingTermMonths,
+        BigDecimal monthlyPayment,
+        BigDecimal reductionAmount,
+        Integer durationMonths,
+        LocalDate startDate,
+        RepaymentStrategy strategy,
+        boolean evaluateAllStrategies) {
+
+    public static SimulationKey of(Mortgage mortgage, AdjustmentSimulationRequestDto request, RepaymentStrategy strategy) {
+        return new SimulationKey(
+                mortgage.getAccountNumber(),
+                normalize(mortgage.getCurrentBalance()),
+                normalize(mortgage.getInterestRate()),
+                mortgage.getRemainingTermMonths(),
+                normalize(mortgage.getMonthlyPayment()),
+                normalize(request.getProposedReductionAmount()),
+                request.getDurationMonths(),
+                request.getProposedStartDate(),
+                strategy,
+                Boolean.TRUE.equals(request.getEvaluateAllStrategies()));
+    }
+
+    private static BigDecimal normalize(BigDecimal value) {
+        return value != null ? value.stripTrailingZeros() : null;
+    }
+}
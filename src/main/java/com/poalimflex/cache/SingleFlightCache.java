@@ -0,0 +1,178 @@
+package com.poalimflex.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based in-memory cache that collapses concurrent misses for the same key into a
+ * single load. Hit, miss and eviction counts are published to Micrometer under
+ * {@code poalimflex.cache.*} tagged with the cache name.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+@Slf4j
+public class SingleFlightCache<K, V> {
+    private final String name;
+    private final long ttlNanos;
+    private final int maxSize;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+    private final Counter invalidations;
+
+    public SingleFlightCache(String name, Duration ttl, int maxSize, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+        this.sizeEvictions = evictionCounter(meterRegistry, "size");
+        this.expiredEvictions = evictionCounter(meterRegistry, "expired");
+        this.invalidations = evictionCounter(meterRegistry, "invalidated");
+        Gauge.builder("poalimflex.cache.size", entries, Map::size)
+                .description("Number of entries currently cached")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Return the cached value for a key, loading it on a miss. Concurrent callers missing on the
+     * same key wait for the first caller's load instead of starting their own.
+     */
+    public V get(K key, Function<K, V> loader) {
+        long now = System.nanoTime();
+        Entry<V> cached = entries.get(key);
+        if (cached != null && !cached.isExpired(now)) {
+            hits.increment();
+            return await(cached.value);
+        }
+
+        Entry<V> created = new Entry<>(new CompletableFuture<>(), now + ttlNanos);
+        Entry<V> current = entries.compute(key, (k, existing) -> {
+            if (existing != null && !existing.isExpired(now)) {
+                return existing;
+            }
+            if (existing != null) {
+                expiredEvictions.increment();
+            }
+            return created;
+        });
+
+        if (current != created) {
+            // Another caller is already loading (or has just loaded) this key
+            hits.increment();
+            return await(current.value);
+        }
+
+        misses.increment();
+        evictIfOversized();
+
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException e) {
+            entries.remove(key, created);
+            created.value.completeExceptionally(e);
+            throw e;
+        }
+
+        // If the key was invalidated while loading, its entry is already gone and the value is not kept
+        created.value.complete(value);
+        return value;
+    }
+
+    /**
+     * Drop the cached value for a key, including a load that is still in flight, whose value is then
+     * returned to its callers but not retained
+     */
+    public void invalidate(K key) {
+        if (entries.remove(key) != null) {
+            invalidations.increment();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictIfOversized() {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        entries.entrySet().removeIf(e -> {
+            boolean expired = e.getValue().isExpired(now);
+            if (expired) {
+                expiredEvictions.increment();
+            }
+            return expired;
+        });
+
+        int excess = entries.size() - (int) (maxSize * 0.9);
+        if (excess <= 0) {
+            return;
+        }
+
+        // Evict the oldest entries, leaving headroom so eviction is not triggered on every miss
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().expiresAt))
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(k -> {
+                    if (entries.remove(k) != null) {
+                        sizeEvictions.increment();
+                    }
+                });
+        log.debug("Evicted {} entries from cache {}", excess, name);
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("poalimflex.cache.requests")
+                .description("Cache lookups by outcome")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter evictionCounter(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder("poalimflex.cache.evictions")
+                .description("Entries removed from the cache by cause")
+                .tag("cache", name)
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+
+    private record Entry<V>(CompletableFuture<V> value, long expiresAt) {
+        boolean isExpired(long now) {
+            return value.isDone() && now - expiresAt > 0;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.poalimflex.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Executors shared by the service layer
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Bounded pool used to issue independent MongoDB lookups in parallel
+     */
+    @Bean
+    public ThreadPoolTaskExecutor mongoLookupExecutor(
+            @Value("${poalim.flex.executors.mongo-lookup.pool-size:8}") int poolSize,
+            @Value("${poalim.flex.executors.mongo-lookup.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mongo-lookup-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Small pool that recomputes stale admin reports in the background; a full queue skips the refresh
+     */
+    @Bean
+    public ThreadPoolTaskExecutor reportRefreshExecutor(
+            @Value("${poalim.flex.executors.report-refresh.pool-size:2}") int poolSize,
+            @Value("${poalim.flex.executors.report-refresh.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-refresh-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Bounded pool for asynchronous admin report jobs; submissions are refused once the queue is full
+     */
+    @Bean
+    public ThreadPoolTaskExecutor reportJobExecutor(
+            @Value("${poalim.flex.executors.report-job.pool-size:2}") int poolSize,
+            @Value("${poalim.flex.executors.report-job.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-job-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Bounded pool for CPU-bound simulation grids, kept apart from the common pool
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool simulationSweepPool(
+            @Value("${poalim.flex.executors.simulation-sweep.parallelism:4}") int parallelism) {
+        return new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Pool for portfolio stress test batches, separate from the simulation pool so a full-book run never
+     * delays interactive simulations, and smaller so it leaves CPU to request threads
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool stressTestPool(
+            @Value("${poalim.flex.executors.stress-test.parallelism:2}") int parallelism) {
+        return new ForkJoinPool(parallelism);
+    }
+}
@@ -0,0 +1,30 @@
+package com.poalimflex.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/mongoindexes}) reporting missing, undeclared and unused indexes
+ */
+@Component
+@Endpoint(id = "mongoindexes")
+@RequiredArgsConstructor
+public class MongoIndexEndpoint {
+    private final MongoIndexReconciler mongoIndexReconciler;
+
+    @ReadOperation
+    public Map<String, MongoIndexReconciler.CollectionIndexReport> indexes() {
+        return mongoIndexReconciler.report();
+    }
+
+    @WriteOperation
+    public List<String> createMissing() {
+        return mongoIndexReconciler.createMissingIndexes();
+    }
+}
@@ -0,0 +1,209 @@
+package com.poalimflex.config;
+
+import com.poalimflex.entity.DistinctCounterSketch;
+import com.poalimflex.entity.Mortgage;
+import com.poalimflex.entity.MortgageAdjustment;
+import com.poalimflex.entity.ReportJob;
+import com.poalimflex.entity.User;
+import com.poalimflex.entity.UserFinancialProfile;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver.IndexDefinitionHolder;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Reconciles the indexes declared on entities ({@code @Indexed}, {@code @CompoundIndex}) with the
+ * indexes that actually exist in MongoDB. Automatic index creation is off in Spring Boot, so missing
+ * indexes are created here once the application is ready, on a background thread so startup does not
+ * wait for them. The server builds them with its optimized build process, which holds an exclusive lock
+ * on the collection only briefly at the start and end of the build.
+ */
+@Component
+@Slf4j
+public class MongoIndexReconciler {
+    private static final List<Class<?>> INDEXED_ENTITIES = List.of(
+            Mortgage.class,
+            MortgageAdjustment.class,
+            UserFinancialProfile.class,
+            User.class,
+            DistinctCounterSketch.class,
+            ReportJob.class);
+
+    private static final String DEFAULT_ID_INDEX = "_id_";
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoPersistentEntityIndexResolver indexResolver;
+    private final boolean createMissing;
+
+    public MongoIndexReconciler(
+            MongoTemplate mongoTemplate,
+            MongoMappingContext mappingContext,
+            @Value("${poalim.flex.mongo.indexes.create-missing:true}") boolean createMissing) {
+        this.mongoTemplate = mongoTemplate;
+        this.indexResolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        this.createMissing = createMissing;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (!createMissing) {
+            log.info("MongoDB index creation disabled; missing indexes are only reported");
+            return;
+        }
+
+        new SimpleAsyncTaskExecutor("index-reconciler-").execute(() -> {
+            try {
+                createMissingIndexes();
+            } catch (RuntimeException e) {
+                log.error("MongoDB index reconciliation failed", e);
+            }
+        });
+    }
+
+    /**
+     * Create every declared index that does not exist yet
+     *
+     * @return Names of the indexes that were created
+     */
+    public List<String> createMissingIndexes() {
+        List<String> created = new ArrayList<>();
+
+        for (Map.Entry<String, List<IndexDefinitionHolder>> collection : declaredIndexes().entrySet()) {
+            Map<String, Document> existing = existingIndexesByKey(collection.getKey());
+
+            for (IndexDefinitionHolder declared : collection.getValue()) {
+                if (existing.containsKey(keySignature(declared.getIndexKeys()))) {
+                    continue;
+                }
+
+                Document index = new Document("key", declared.getIndexKeys());
+                index.putAll(declared.getIndexOptions());
+                index.putIfAbsent("name", defaultIndexName(declared.getIndexKeys()));
+
+                log.info("Creating missing index {} on {}", index.get("name"), collection.getKey());
+                mongoTemplate.getDb().runCommand(new Document("createIndexes", collection.getKey())
+                        .append("indexes", List.of(index)));
+                created.add(collection.getKey() + "." + index.get("name"));
+            }
+        }
+
+        return created;
+    }
+
+    /**
+     * Compare declared and existing indexes for every entity collection. Usage counters come from
+     * {@code $indexStats} and reset when the server restarts.
+     */
+    public Map<String, CollectionIndexReport> report() {
+        Map<String, CollectionIndexReport> reports = new LinkedHashMap<>();
+
+        for (Map.Entry<String, List<IndexDefinitionHolder>> collection : declaredIndexes().entrySet()) {
+            String collectionName = collection.getKey();
+            Map<String, Document> existing = existingIndexesByKey(collectionName);
+            Map<String, Long> usage = indexUsage(collectionName);
+
+            List<String> declaredSignatures = collection.getValue().stream()
+                    .map(holder -> keySignature(holder.getIndexKeys()))
+                    .collect(Collectors.toList());
+
+            List<String> missing = collection.getValue().stream()
+                    .filter(holder -> !existing.containsKey(keySignature(holder.getIndexKeys())))
+                    .map(holder -> holder.getIndexOptions().getString("name") != null
+                            ? holder.getIndexOptions().getString("name")
+                            : defaultIndexName(holder.getIndexKeys()))
+                    .collect(Collectors.toList());
+
+            List<String> undeclared = existing.entrySet().stream()
+                    .filter(e -> !declaredSignatures.contains(e.getKey()))
+                    .map(e -> e.getValue().getString("name"))
+                    .filter(name -> !DEFAULT_ID_INDEX.equals(name))
+                    .collect(Collectors.toList());
+
+            List<String> unused = usage.entrySet().stream()
+                    .filter(e -> e.getValue() == 0 && !DEFAULT_ID_INDEX.equals(e.getKey()))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+
+            reports.put(collectionName, new CollectionIndexReport(
+                    existing.values().stream().map(index -> index.getString("name")).collect(Collectors.toList()),
+                    missing, undeclared, unused, usage));
+        }
+
+        return reports;
+    }
+
+    private Map<String, List<IndexDefinitionHolder>> declaredIndexes() {
+        Map<String, List<IndexDefinitionHolder>> declared = new LinkedHashMap<>();
+        for (Class<?> entity : INDEXED_ENTITIES) {
+            for (IndexDefinition definition : indexResolver.resolveIndexFor(entity)) {
+                IndexDefinitionHolder holder = (IndexDefinitionHolder) definition;
+                declared.computeIfAbsent(holder.getCollection(), c -> new ArrayList<>()).add(holder);
+            }
+        }
+        return declared;
+    }
+
+    private Map<String, Document> existingIndexesByKey(String collectionName) {
+        Map<String, Document> existing = new LinkedHashMap<>();
+        for (Document index : mongoTemplate.getCollection(collectionName).listIndexes()) {
+            existing.put(keySignature(index.get("key", Document.class)), index);
+        }
+        return existing;
+    }
+
+    private Map<String, Long> indexUsage(String collectionName) {
+        Map<String, Long> usage = new LinkedHashMap<>();
+        List<Document> pipeline = List.of(new Document("$indexStats", new Document()));
+        for (Document stats : mongoTemplate.getCollection(collectionName).aggregate(pipeline)) {
+            Document accesses = stats.get("accesses", Document.class);
+            usage.put(stats.getString("name"), accesses != null ? ((Number) accesses.get("ops")).longValue() : 0L);
+        }
+        return usage;
+    }
+
+    /**
+     * Order-preserving representation of an index key, independent of numeric type (1 vs 1.0)
+     */
+    private static String keySignature(Document keys) {
+        return keys.entrySet().stream()
+                .map(e -> e.getKey() + ":" + (e.getValue() instanceof Number n ? n.intValue() : e.getValue()))
+                .collect(Collectors.joining(","));
+    }
+
+    private static String defaultIndexName(Document keys) {
+        return keys.entrySet().stream()
+                .map(e -> e.getKey() + "_" + (e.getValue() instanceof Number n ? n.intValue() : e.getValue()))
+                .collect(Collectors.joining("_"));
+    }
+
+    /**
+     * Index state of a single collection
+     *
+     * @param existing Indexes present in MongoDB
+     * @param missing Declared indexes that do not exist
+     * @param undeclared Existing indexes that no entity declares
+     * @param unused Existing indexes with no recorded operations since the server started
+     * @param operationsByIndex Operation counts per existing index
+     */
+    public record CollectionIndexReport(
+            List<String> existing,
+            List<String> missing,
+            List<String> undeclared,
+            List<String> unused,
+            Map<String, Long> operationsByIndex) {
+    }
+}
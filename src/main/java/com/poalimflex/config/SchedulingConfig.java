@@ -0,0 +1,12 @@
+package com.poalimflex.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background tasks such as the periodic profile distribution flush
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
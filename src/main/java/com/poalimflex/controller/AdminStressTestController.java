@@ -0,0 +1,64 @@
+package com.poalimflex.controller;
+
+import com.poalimflex.dto.financial.PortfolioStressTestStatusDto;
+import com.poalimflex.service.stress.PortfolioStressTestService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller for portfolio-wide stress test jobs
+ */
+@RestController
+@RequestMapping("/api/admin/stress-tests")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Admin Stress Tests", description = "Administrative APIs for portfolio rate shock stress tests")
+public class AdminStressTestController {
+    private final PortfolioStressTestService portfolioStressTestService;
+
+    @PostMapping
+    @Operation(summary = "Start Rate Shock Stress Test",
+            description = "Re-prices every active mortgage at each rate shock in the background and aggregates "
+                    + "borrower payment difficulty into risk bands")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Stress test started"),
+            @ApiResponse(responseCode = "409", description = "A stress test is already running")
+    })
+    public ResponseEntity<PortfolioStressTestStatusDto> startStressTest(
+            @RequestParam(required = false) List<Integer> shockBasisPoints) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(portfolioStressTestService.start(shockBasisPoints));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get Stress Test Status",
+            description = "Retrieves the progress of a stress test and the results for the mortgages processed so far")
+    public ResponseEntity<PortfolioStressTestStatusDto> getStressTestStatus(@PathVariable String jobId) {
+        return portfolioStressTestService.getStatus(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{jobId}/cancel")
+    @Operation(summary = "Cancel Stress Test",
+            description = "Stops a running stress test after the batch in progress")
+    public ResponseEntity<PortfolioStressTestStatusDto> cancelStressTest(@PathVariable String jobId) {
+        return portfolioStressTestService.cancel(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
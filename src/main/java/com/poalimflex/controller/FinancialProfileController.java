@@ -21,6 +21,7 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -86,13 +87,15 @@ public class FinancialProfileController {
             description = "Generates a comprehensive financial health report for a user")
     public ResponseEntity<FinancialHealthReportDto> getFinancialHealthReport(@PathVariable String userId) {
         // Check if user has a financial profile
-        if (!userFinancialProfileRepository.findByUserId(userId).isPresent()) {
+        Optional<UserFinancialProfile> profileOpt = userFinancialProfileRepository.findByUserId(userId);
+        if (profileOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
+        UserFinancialProfile profile = profileOpt.get();
 
         // Get AI-powered financial insights
-        Map<String, Object> insights = aiFinancialAnalysisService.generateFinancialHealthInsights(userId);
-        double paymentDifficulty = aiFinancialAnalysisService.predictPaymentDifficulty(userId);
+        Map<String, Object> insights = aiFinancialAnalysisService.generateFinancialHealthInsights(profile);
+        double paymentDifficulty = aiFinancialAnalysisService.predictPaymentDifficulty(profile);
 
         // Build health report
         FinancialHealthReportDto report = FinancialHealthReportDto.builder()
@@ -104,7 +107,7 @@ public class FinancialProfileController {
                 .financialStabilityScore((Double) insights.get("financialStabilityScore"))
                 .paymentDifficultyProbability(paymentDifficulty)
                 .mortgageAdjustmentEligible(paymentDifficulty > 0.3)
-                .financialPressureAreas(aiFinancialAnalysisService.identifyFinancialPressureTypes(userId))
+                .financialPressureAreas(aiFinancialAnalysisService.identifyFinancialPressureTypes(profile))
                 .recommendations(generateFinancialRecommendations(userId, insights, paymentDifficulty))
                 .build();
 
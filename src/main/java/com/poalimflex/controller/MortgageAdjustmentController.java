@@ -1,7 +1,11 @@
 package com.poalimflex.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.poalimflex.dto.financial.FinancialStressAnalysisDto;
 import com.poalimflex.dto.mortage.adjustment.*;
+import com.poalimflex.entity.UserFinancialProfile;
+import com.poalimflex.repository.UserFinancialProfileRepository;
+import com.poalimflex.service.AdjustmentHistoryCursor;
 import com.poalimflex.service.MortgageAdjustmentService;
 import com.poalimflex.service.AiFinancialAnalysisService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,9 +15,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
@@ -24,9 +32,12 @@ import java.util.Map;
 @RequiredArgsConstructor
 @Tag(name = "Mortgage Adjustment", description = "Flexible Mortgage Repayment Management")
 public class MortgageAdjustmentController {
+    private static final int MAX_HISTORY_PAGE_SIZE = 500;
 
     private final MortgageAdjustmentService mortgageAdjustmentService;
     private final AiFinancialAnalysisService aiFinancialAnalysisService;
+    private final UserFinancialProfileRepository userFinancialProfileRepository;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/request")
     @Operation(summary = "Request Mortgage Payment Adjustment",
@@ -68,6 +79,61 @@ public class MortgageAdjustmentController {
         return ResponseEntity.ok(history);
     }
 
+    @GetMapping("/history/{userId}/page")
+    @Operation(summary = "Get Adjustment History Page",
+            description = "Retrieves one page of a user's adjustment history, newest first. "
+                    + "Pass the returned nextCursor to fetch the following page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved adjustment history page"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    })
+    public ResponseEntity<AdjustmentHistoryPageDto> getAdjustmentHistoryPage(
+            @PathVariable String userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        if (limit < 1 || limit > MAX_HISTORY_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        AdjustmentHistoryCursor position;
+        try {
+            position = cursor != null ? AdjustmentHistoryCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        AdjustmentHistoryPageDto page = mortgageAdjustmentService.getAdjustmentHistoryPage(
+                userId, fromDate, toDate, position, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/history/{userId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream Adjustment History",
+            description = "Streams the full adjustment history for a user as newline-delimited JSON, "
+                    + "writing each entry as it is read from the database")
+    public ResponseEntity<StreamingResponseBody> streamAdjustmentHistory(
+            @PathVariable String userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate
+    ) {
+        StreamingResponseBody body = outputStream -> mortgageAdjustmentService.streamAdjustmentHistory(
+                userId, fromDate, toDate, entry -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(entry));
+                        outputStream.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/recommendation/{userId}")
     @Operation(summary = "Get Adjustment Recommendations",
             description = "Provides AI-powered recommendations for mortgage adjustments based on financial profile")
@@ -88,6 +154,42 @@ public class MortgageAdjustmentController {
         return ResponseEntity.ok(result);
     }
 
+    @PostMapping("/simulate/sweep")
+    @Operation(summary = "Simulate Adjustment Grid",
+            description = "Simulates every combination of a range of reduction amounts and durations in one call, "
+                    + "returning matrices of additional interest and loan term impact")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sweep evaluated successfully"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized range")
+    })
+    public ResponseEntity<AdjustmentSimulationSweepResultDto> simulateAdjustmentSweep(
+            @Valid @RequestBody AdjustmentSimulationSweepRequestDto request
+    ) {
+        try {
+            return ResponseEntity.ok(mortgageAdjustmentService.simulateAdjustmentSweep(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/simulate/rate-scenarios")
+    @Operation(summary = "Simulate Adjustment Under Rate Scenarios",
+            description = "Simulates a proposed adjustment of a variable rate or hybrid mortgage on thousands of "
+                    + "random interest rate paths, returning P5/P50/P95 bands of the adjusted payment and additional interest")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Scenarios simulated successfully"),
+            @ApiResponse(responseCode = "400", description = "Mortgage has a fixed rate or invalid parameters")
+    })
+    public ResponseEntity<RateScenarioSimulationResultDto> simulateRateScenarios(
+            @Valid @RequestBody RateScenarioSimulationRequestDto request
+    ) {
+        try {
+            return ResponseEntity.ok(mortgageAdjustmentService.simulateRateScenarios(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping("/cancel/{adjustmentId}")
     @Operation(summary = "Cancel Pending Adjustment",
             description = "Cancels a pending mortgage adjustment request")
@@ -109,16 +211,19 @@ public class MortgageAdjustmentController {
     public ResponseEntity<FinancialStressAnalysisDto> analyzeFinancialStress(
             @PathVariable String userId
     ) {
-        boolean isHighStress = aiFinancialAnalysisService.assessFinancialStress(userId);
-        double paymentDifficulty = aiFinancialAnalysisService.predictPaymentDifficulty(userId);
-        BigDecimal recommendedReduction = aiFinancialAnalysisService.calculateRecommendedReductionAmount(userId);
+        UserFinancialProfile profile = userFinancialProfileRepository.findByUserId(userId)
+                .orElseThrow(() -> new RuntimeException("User financial profile not found"));
+
+        boolean isHighStress = aiFinancialAnalysisService.assessFinancialStress(profile);
+        double paymentDifficulty = aiFinancialAnalysisService.predictPaymentDifficulty(profile);
+        BigDecimal recommendedReduction = aiFinancialAnalysisService.calculateRecommendedReductionAmount(profile);
 
         FinancialStressAnalysisDto analysis = FinancialStressAnalysisDto.builder()
                 .highFinancialStress(isHighStress)
                 .paymentDifficultyScore(paymentDifficulty)
                 .recommendedReductionAmount(recommendedReduction)
-                .financialHealthInsights(aiFinancialAnalysisService.generateFinancialHealthInsights(userId))
-                .potentialPressureTypes(aiFinancialAnalysisService.identifyFinancialPressureTypes(userId))
+                .financialHealthInsights(aiFinancialAnalysisService.generateFinancialHealthInsights(profile))
+                .potentialPressureTypes(aiFinancialAnalysisService.identifyFinancialPressureTypes(profile))
                 .build();
 
         return ResponseEntity.ok(analysis);
@@ -129,9 +234,12 @@ public class MortgageAdjustmentController {
             description = "Analyzes the long-term financial impact of proposed mortgage adjustments")
     public ResponseEntity<Map<String, Object>> analyzeLongTermImpact(
             @RequestParam String userId,
-            @RequestParam BigDecimal reductionAmount
+            @RequestParam(required = false) String mortgageAccountNumber,
+            @RequestParam BigDecimal reductionAmount,
+            @RequestParam(defaultValue = "1") int durationMonths
     ) {
-        Map<String, Object> impact = aiFinancialAnalysisService.predictLongTermFinancialImpact(userId, reductionAmount);
+        Map<String, Object> impact = aiFinancialAnalysisService.predictLongTermFinancialImpact(
+                userId, mortgageAccountNumber, reductionAmount, durationMonths);
         return ResponseEntity.ok(impact);
     }
 }
\ No newline at end of file
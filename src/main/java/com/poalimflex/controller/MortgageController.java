@@ -1,11 +1,16 @@
 package com.poalimflex.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.poalimflex.dto.MortgageDetailsDto;
 import com.poalimflex.dto.MortgagePaymentHistoryDto;
 import com.poalimflex.dto.MortgageStatisticsDto;
 import com.poalimflex.dto.MortgageSummaryDto;
 import com.poalimflex.entity.Mortgage;
 import com.poalimflex.repository.MortgageRepository;
+import com.poalimflex.repository.projection.MortgageDetailsView;
+import com.poalimflex.repository.projection.MortgageStatisticsView;
+import com.poalimflex.repository.projection.MortgageSummaryView;
+import com.poalimflex.service.amortization.AmortizationScheduleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,9 +19,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
@@ -31,6 +40,8 @@ import java.util.stream.IntStream;
 public class MortgageController {
 
     private final MortgageRepository mortgageRepository;
+    private final AmortizationScheduleService amortizationScheduleService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/user/{userId}")
     @Operation(summary = "Get User's Mortgages",
@@ -42,7 +53,7 @@ public class MortgageController {
     public ResponseEntity<List<MortgageSummaryDto>> getUserMortgages(
             @PathVariable String userId
     ) {
-        List<Mortgage> mortgages = mortgageRepository.findByUserId(userId);
+        List<MortgageSummaryView> mortgages = mortgageRepository.findSummariesByUserId(userId);
 
         if (mortgages.isEmpty()) {
             return ResponseEntity.notFound().build();
@@ -65,7 +76,7 @@ public class MortgageController {
     public ResponseEntity<MortgageDetailsDto> getMortgageDetails(
             @PathVariable String accountNumber
     ) {
-        return mortgageRepository.findByAccountNumber(accountNumber)
+        return mortgageRepository.findDetailsByAccountNumber(accountNumber)
                 .map(this::convertToDetailsDto)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -79,19 +90,53 @@ public class MortgageController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate
     ) {
-        return mortgageRepository.findByAccountNumber(accountNumber)
+        return mortgageRepository.findSummaryByAccountNumber(accountNumber)
                 .map(mortgage -> generatePaymentSchedule(mortgage, fromDate, toDate))
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping(value = "/{accountNumber}/amortization-schedule", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Get Mortgage Amortization Schedule",
+            description = "Streams the amortization schedule of a mortgage as newline-delimited JSON, with the "
+                    + "principal and interest split of every installment. Covers the full remaining term "
+                    + "unless a payment date window is given.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Schedule streamed"),
+            @ApiResponse(responseCode = "400", description = "fromDate is after toDate"),
+            @ApiResponse(responseCode = "404", description = "Mortgage not found")
+    })
+    public ResponseEntity<StreamingResponseBody> getAmortizationSchedule(
+            @PathVariable String accountNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate
+    ) {
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return mortgageRepository.findSummaryByAccountNumber(accountNumber)
+                .map(mortgage -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .<StreamingResponseBody>body(outputStream -> amortizationScheduleService.streamSchedule(
+                                mortgage, fromDate, toDate, entry -> {
+                                    try {
+                                        outputStream.write(objectMapper.writeValueAsBytes(entry));
+                                        outputStream.write('\n');
+                                    } catch (IOException e) {
+                                        throw new UncheckedIOException(e);
+                                    }
+                                })))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/statistics/user/{userId}")
     @Operation(summary = "Get Mortgage Statistics",
             description = "Retrieves mortgage statistics for a specific user")
     public ResponseEntity<MortgageStatisticsDto> getMortgageStatistics(
             @PathVariable String userId
     ) {
-        List<Mortgage> mortgages = mortgageRepository.findByUserId(userId);
+        List<MortgageStatisticsView> mortgages = mortgageRepository.findStatisticsByUserId(userId);
 
         if (mortgages.isEmpty()) {
             return ResponseEntity.notFound().build();
@@ -102,7 +147,7 @@ public class MortgageController {
     }
 
     // Helper methods
-    private MortgageSummaryDto convertToSummaryDto(Mortgage mortgage) {
+    private MortgageSummaryDto convertToSummaryDto(MortgageSummaryView mortgage) {
         return MortgageSummaryDto.builder()
                 .accountNumber(mortgage.getAccountNumber())
                 .originalLoanAmount(mortgage.getOriginalLoanAmount())
@@ -115,7 +160,7 @@ public class MortgageController {
                 .build();
     }
 
-    private MortgageDetailsDto convertToDetailsDto(Mortgage mortgage) {
+    private MortgageDetailsDto convertToDetailsDto(MortgageDetailsView mortgage) {
         return MortgageDetailsDto.builder()
                 .accountNumber(mortgage.getAccountNumber())
                 .userId(mortgage.getUserId())
@@ -142,7 +187,7 @@ public class MortgageController {
     }
 
     private List<MortgagePaymentHistoryDto> generatePaymentSchedule(
-            Mortgage mortgage, LocalDate fromDate, LocalDate toDate) {
+            MortgageSummaryView mortgage, LocalDate fromDate, LocalDate toDate) {
 
         LocalDate startDate = fromDate != null ? fromDate : mortgage.getNextPaymentDate();
         LocalDate endDate = toDate != null ? toDate : startDate.plusMonths(12);
@@ -162,16 +207,16 @@ public class MortgageController {
                 .collect(Collectors.toList());
     }
 
-    private MortgageStatisticsDto calculateMortgageStatistics(List<Mortgage> mortgages) {
+    private MortgageStatisticsDto calculateMortgageStatistics(List<MortgageStatisticsView> mortgages) {
         // Calculate total original loan amount
         var totalOriginalLoan = mortgages.stream()
-                .map(Mortgage::getOriginalLoanAmount)
+                .map(MortgageStatisticsView::getOriginalLoanAmount)
                 .reduce((a, b) -> a.add(b))
                 .orElse(java.math.BigDecimal.ZERO);
 
         // Calculate total current balance
         var totalCurrentBalance = mortgages.stream()
-                .map(Mortgage::getCurrentBalance)
+                .map(MortgageStatisticsView::getCurrentBalance)
                 .reduce((a, b) -> a.add(b))
                 .orElse(java.math.BigDecimal.ZERO);
 
@@ -187,7 +232,7 @@ public class MortgageController {
 
         // Calculate total monthly payment
         var totalMonthlyPayment = mortgages.stream()
-                .map(Mortgage::getMonthlyPayment)
+                .map(MortgageStatisticsView::getMonthlyPayment)
                 .reduce((a, b) -> a.add(b))
                 .orElse(java.math.BigDecimal.ZERO);
 
@@ -204,7 +249,7 @@ public class MortgageController {
                 .averageInterestRate(averageInterestRate)
                 .totalMonthlyPayment(totalMonthlyPayment)
                 .repaymentProgressPercentage(repaymentProgress)
-                .totalActiveMortgages((int) mortgages.stream().filter(Mortgage::getIsActive).count())
+                .totalActiveMortgages((int) mortgages.stream().filter(MortgageStatisticsView::getIsActive).count())
                 .build();
     }
 }
\ No newline at end of file
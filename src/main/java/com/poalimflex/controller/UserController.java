@@ -5,6 +5,7 @@ import com.poalimflex.dto.user.UserProfileDto;
 import com.poalimflex.dto.user.UserRegistrationDto;
 import com.poalimflex.entity.User;
 import com.poalimflex.repository.UserRepository;
+import com.poalimflex.sketch.DistinctCounterStore;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -33,6 +34,7 @@ public class UserController {
 
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
+    private final DistinctCounterStore distinctCounterStore;
 
     @PostMapping("/register")
     @Operation(summary = "Register New User",
@@ -166,6 +168,7 @@ public class UserController {
         }
 
         log.info("Authentication successful for user: {}", credentials.getEmail());
+        distinctCounterStore.record(DistinctCounterStore.Counter.ACTIVE_USERS, user.getUserId(), LocalDate.now());
         return ResponseEntity.ok(convertToProfileDto(user));
     }
 
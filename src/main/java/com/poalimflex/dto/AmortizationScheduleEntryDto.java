@@ -0,0 +1,38 @@
+package com.poalimflex.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for one installment of a mortgage amortization schedule
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Mortgage amortization schedule entry")
+public class AmortizationScheduleEntryDto {
+    @Schema(description = "Installment number, starting at 1 for the next payment", example = "1")
+    private int installmentNumber;
+
+    @Schema(description = "Payment date")
+    private LocalDate paymentDate;
+
+    @Schema(description = "Payment amount", example = "2500.00")
+    private BigDecimal paymentAmount;
+
+    @Schema(description = "Principal portion", example = "1700.00")
+    private BigDecimal principalPortion;
+
+    @Schema(description = "Interest portion", example = "800.00")
+    private BigDecimal interestPortion;
+
+    @Schema(description = "Balance remaining after the payment", example = "248300.00")
+    private BigDecimal remainingBalance;
+}
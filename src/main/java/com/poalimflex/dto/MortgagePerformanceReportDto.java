@@ -25,10 +25,10 @@ public class MortgagePerformanceReportDto {
     @Schema(description = "Total active mortgages", example = "1053")
     private Integer totalActiveMortgages;
 
-    @Schema(description = "Total mortgage value", example = "275000000.00")
+    @Schema(description = "Total current balance of the active mortgages", example = "275000000.00")
     private BigDecimal totalMortgageValue;
 
-    @Schema(description = "Average mortgage amount", example = "261158.59")
+    @Schema(description = "Average current balance of the active mortgages", example = "261158.59")
     private BigDecimal averageMortgageAmount;
 
     @Schema(description = "Average interest rate", example = "3.85")
@@ -43,9 +43,11 @@ public class MortgagePerformanceReportDto {
     @Schema(description = "Adjustment utilization rate percentage", example = "14.9")
     private Double adjustmentUtilizationRate;
 
-    @Schema(description = "Average loan-to-value ratio", example = "68.5")
+    @Schema(description = "Average loan-to-value ratio; not reported, as mortgages do not record the property value",
+            example = "68.5")
     private BigDecimal averageLoanToValueRatio;
 
-    @Schema(description = "Delinquency rate percentage", example = "1.2")
+    @Schema(description = "Delinquency rate percentage; not reported, as payment history is not stored",
+            example = "1.2")
     private BigDecimal delinquencyRate;
 }
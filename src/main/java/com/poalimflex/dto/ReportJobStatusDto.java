@@ -0,0 +1,70 @@
+package com.poalimflex.dto;
+
+import com.poalimflex.dto.mortage.adjustment.AdjustmentSummaryReportDto;
+import com.poalimflex.dto.mortage.adjustment.AdjustmentTrendsReportDto;
+import com.poalimflex.entity.ReportJob.JobState;
+import com.poalimflex.entity.ReportJob.ReportType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the progress of an asynchronous admin report job. The report matching the job's type is set
+ * once the job has completed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Asynchronous report job status")
+public class ReportJobStatusDto {
+    @Schema(description = "Report job ID")
+    private String jobId;
+
+    @Schema(description = "Report computed by the job")
+    private ReportType reportType;
+
+    @Schema(description = "Inclusive start date of the report, if bounded")
+    private LocalDate fromDate;
+
+    @Schema(description = "Inclusive end date of the report, if bounded")
+    private LocalDate toDate;
+
+    @Schema(description = "Job state")
+    private JobState state;
+
+    @Schema(description = "Steps completed so far, one per calendar year for the adjustment summary", example = "3")
+    private Integer completedSteps;
+
+    @Schema(description = "Total steps, known once the job has started", example = "8")
+    private Integer totalSteps;
+
+    @Schema(description = "Percentage of steps completed", example = "37.5")
+    private Double progressPercentage;
+
+    @Schema(description = "Job submission time")
+    private LocalDateTime submittedAt;
+
+    @Schema(description = "Job start time")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "Job end time, if the job has finished")
+    private LocalDateTime finishedAt;
+
+    @Schema(description = "Time after which the job and its result are removed")
+    private LocalDateTime expiresAt;
+
+    @Schema(description = "Failure reason, if the job failed")
+    private String failureReason;
+
+    @Schema(description = "Adjustment summary, for a completed ADJUSTMENT_SUMMARY job")
+    private AdjustmentSummaryReportDto adjustmentSummary;
+
+    @Schema(description = "Adjustment trends, for a completed ADJUSTMENT_TRENDS job")
+    private AdjustmentTrendsReportDto adjustmentTrends;
+}
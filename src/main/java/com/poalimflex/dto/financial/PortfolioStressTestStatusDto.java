@@ -0,0 +1,82 @@
+package com.poalimflex.dto.financial;
+
+import com.poalimflex.dto.RiskBandDto;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for the progress and results of a portfolio rate shock stress test. Results cover the mortgages
+ * processed so far and are final once the job has completed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Portfolio rate shock stress test status")
+public class PortfolioStressTestStatusDto {
+    @Schema(description = "Stress test job ID")
+    private String jobId;
+
+    @Schema(description = "Job state")
+    private JobState state;
+
+    @Schema(description = "Active mortgages at the start of the job", example = "125000")
+    private Long totalMortgages;
+
+    @Schema(description = "Mortgages processed so far", example = "42000")
+    private Long processedMortgages;
+
+    @Schema(description = "Processed mortgages skipped for lacking a financial profile or loan terms", example = "12")
+    private Long skippedMortgages;
+
+    @Schema(description = "Percentage of mortgages processed", example = "33.6")
+    private Double progressPercentage;
+
+    @Schema(description = "Job start time")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "Job end time, if the job has finished")
+    private LocalDateTime finishedAt;
+
+    @Schema(description = "Failure reason, if the job failed")
+    private String failureReason;
+
+    @Schema(description = "Results per rate shock")
+    private List<RateShockResult> results;
+
+    public enum JobState {
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+
+    /**
+     * Aggregated effect of one rate shock. Risk band counts are mortgages, each assessed against its
+     * borrower's financial profile.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RateShockResult {
+        @Schema(description = "Rate change in basis points", example = "200")
+        private Integer shockBasisPoints;
+
+        @Schema(description = "Change of the total monthly payment across the evaluated mortgages", example = "1250000.00")
+        private BigDecimal totalMonthlyPaymentChange;
+
+        @Schema(description = "Average payment difficulty score", example = "0.47")
+        private Double averagePaymentDifficulty;
+
+        @Schema(description = "Mortgages and outstanding balance per payment difficulty band")
+        private List<RiskBandDto> riskBands;
+    }
+}
@@ -0,0 +1,29 @@
+package com.poalimflex.dto.mortage.adjustment;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of adjustment history
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Page of mortgage adjustment history")
+public class AdjustmentHistoryPageDto {
+    @Schema(description = "Adjustments on this page, newest first")
+    private List<MortgageAdjustmentResponseDto> items;
+
+    @Schema(description = "Opaque token for the next page; absent on the last page",
+            example = "MjAyNC0wNy0wMVQxMDowMHxBREotQTFCMkMzRDQ")
+    private String nextCursor;
+
+    @Schema(description = "Whether more adjustments follow this page", example = "true")
+    private Boolean hasMore;
+}
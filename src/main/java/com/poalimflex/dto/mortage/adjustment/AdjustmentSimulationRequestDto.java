@@ -31,6 +31,7 @@ public class AdjustmentSimulationRequestDto {
     @Schema(description = "Proposed reduction amount", example = "1500.00")
     @NotNull(message = "Reduction amount is required")
     @Positive(message = "Reduction amount must be positive")
+    @Digits(integer = 8, fraction = 2, message = "Reduction amount cannot have more than 2 decimal places")
     private BigDecimal proposedReductionAmount;
 
     @Schema(description = "Proposed adjustment start date", example = "2024-07-01")
@@ -44,6 +45,9 @@ public class AdjustmentSimulationRequestDto {
     @Max(value = 12, message = "Duration cannot exceed 12 months")
     private Integer durationMonths;
 
-    @Schema(description = "Proposed repayment strategy")
+    @Schema(description = "Proposed repayment strategy, SPREAD_EVENLY when omitted")
     private MortgageAdjustmentRequestDto.RepaymentStrategy repaymentStrategy;
+
+    @Schema(description = "Also project every other repayment strategy for comparison", example = "false")
+    private Boolean evaluateAllStrategies;
 }
\ No newline at end of file
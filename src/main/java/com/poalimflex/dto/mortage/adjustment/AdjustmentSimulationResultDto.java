@@ -24,13 +24,19 @@ public class AdjustmentSimulationResultDto {
     @Schema(description = "Total additional interest", example = "250.50")
     private BigDecimal totalAdditionalInterest;
 
-    @Schema(description = "Projected impact on loan term in months", example = "2")
+    @Schema(description = "Projected impact on loan term in months, -1 when the loan is not repayable", example = "2")
     private Integer projectedLoanTermImpact;
 
+    @Schema(description = "Whether the regular payment still repays the loan after the adjustment", example = "true")
+    private Boolean loanRepayable;
+
     @Schema(description = "Monthly payment after adjustment period", example = "6100.00")
     private BigDecimal postAdjustmentMonthlyPayment;
 
-    @Schema(description = "Projected monthly breakdown")
+    @Schema(description = "Repayment strategy the projection uses")
+    private MortgageAdjustmentRequestDto.RepaymentStrategy repaymentStrategy;
+
+    @Schema(description = "Projected monthly breakdown for the reduced and catch-up periods")
     private List<MortgageAdjustmentResponseDto.MonthlyProjection> monthlyProjections;
 
     @Schema(description = "Financial risk assessment score", example = "0.45")
@@ -41,4 +47,36 @@ public class AdjustmentSimulationResultDto {
 
     @Schema(description = "Potential improvement suggestions")
     private List<String> improvementSuggestions;
+
+    @Schema(description = "Projection of every repayment strategy, present when evaluateAllStrategies is set")
+    private List<StrategyComparison> strategyComparisons;
+
+    /**
+     * Inner class comparing the outcome of one repayment strategy
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Projected outcome of a repayment strategy")
+    public static class StrategyComparison {
+        @Schema(description = "Repayment strategy")
+        private MortgageAdjustmentRequestDto.RepaymentStrategy strategy;
+
+        @Schema(description = "Number of months over which the deferred amount is repaid", example = "12")
+        private Integer catchUpMonths;
+
+        @Schema(description = "Monthly payment in the first catch-up month", example = "6100.00")
+        private BigDecimal postAdjustmentMonthlyPayment;
+
+        @Schema(description = "Highest monthly payment during the catch-up period", example = "6800.00")
+        private BigDecimal peakMonthlyPayment;
+
+        @Schema(description = "Interest paid over the life of the mortgage beyond the unadjusted schedule",
+                example = "310.40")
+        private BigDecimal lifetimeAdditionalInterest;
+
+        @Schema(description = "Projected monthly breakdown for the reduced and catch-up periods")
+        private List<MortgageAdjustmentResponseDto.MonthlyProjection> monthlyProjections;
+    }
 }
\ No newline at end of file
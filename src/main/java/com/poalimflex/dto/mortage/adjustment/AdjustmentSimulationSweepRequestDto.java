@@ -0,0 +1,58 @@
+package com.poalimflex.dto.mortage.adjustment;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for simulating a grid of reduction amounts and durations in one request
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Mortgage adjustment simulation sweep request")
+public class AdjustmentSimulationSweepRequestDto {
+    @Schema(description = "User ID", example = "USER12345")
+    @NotBlank(message = "User ID cannot be blank")
+    private String userId;
+
+    @Schema(description = "Mortgage account number", example = "MORT98765")
+    @NotBlank(message = "Mortgage account number cannot be blank")
+    private String mortgageAccountNumber;
+
+    @Schema(description = "Smallest reduction amount", example = "100.00")
+    @NotNull(message = "Minimum reduction amount is required")
+    @Positive(message = "Reduction amount must be positive")
+    @Digits(integer = 8, fraction = 2, message = "Reduction amount cannot have more than 2 decimal places")
+    private BigDecimal minReductionAmount;
+
+    @Schema(description = "Largest reduction amount", example = "3000.00")
+    @NotNull(message = "Maximum reduction amount is required")
+    @Positive(message = "Reduction amount must be positive")
+    @Digits(integer = 8, fraction = 2, message = "Reduction amount cannot have more than 2 decimal places")
+    private BigDecimal maxReductionAmount;
+
+    @Schema(description = "Step between reduction amounts", example = "100.00")
+    @NotNull(message = "Reduction step is required")
+    @Positive(message = "Reduction step must be positive")
+    @Digits(integer = 8, fraction = 2, message = "Reduction step cannot have more than 2 decimal places")
+    private BigDecimal reductionStep;
+
+    @Schema(description = "Shortest duration in months", example = "1")
+    @NotNull(message = "Minimum duration is required")
+    @Min(value = 1, message = "Duration must be at least 1 month")
+    @Max(value = 12, message = "Duration cannot exceed 12 months")
+    private Integer minDurationMonths;
+
+    @Schema(description = "Longest duration in months", example = "12")
+    @NotNull(message = "Maximum duration is required")
+    @Min(value = 1, message = "Duration must be at least 1 month")
+    @Max(value = 12, message = "Duration cannot exceed 12 months")
+    private Integer maxDurationMonths;
+}
@@ -0,0 +1,43 @@
+package com.poalimflex.dto.mortage.adjustment;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for simulation sweep results. Matrices are indexed [reduction][duration] in the order of
+ * {@code reductionAmounts} and {@code durationMonths}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Mortgage adjustment simulation sweep result")
+public class AdjustmentSimulationSweepResultDto {
+    @Schema(description = "Reduction amounts on the first axis")
+    private List<BigDecimal> reductionAmounts;
+
+    @Schema(description = "Durations in months on the second axis")
+    private List<Integer> durationMonths;
+
+    @Schema(description = "Adjusted monthly payment for each reduction amount")
+    private BigDecimal[] adjustedPayments;
+
+    @Schema(description = "Total additional interest, indexed [reduction][duration]")
+    private BigDecimal[][] additionalInterest;
+
+    @Schema(description = "Impact on loan term in months, indexed [reduction][duration]; -1 where the regular "
+            + "payment no longer covers the interest, so the loan is not repayable")
+    private int[][] loanTermImpact;
+
+    @Schema(description = "Financial risk assessment score", example = "0.45")
+    private Double riskAssessmentScore;
+
+    @Schema(description = "Eligibility status")
+    private Boolean eligibleForAdjustment;
+}
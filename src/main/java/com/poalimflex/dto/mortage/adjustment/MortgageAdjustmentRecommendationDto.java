@@ -40,7 +40,10 @@ public class MortgageAdjustmentRecommendationDto {
     @Schema(description = "Recommended repayment strategy")
     private MortgageAdjustmentRequestDto.RepaymentStrategy recommendedRepaymentStrategy;
 
-    @Schema(description = "Projected impact on loan term in months", example = "2")
+    @Schema(description = "Projected impact on loan term in months, -1 when the loan is not repayable", example = "2")
     private Integer projectedLoanTermImpact;
+
+    @Schema(description = "Whether the regular payment still repays the loan after the adjustment", example = "true")
+    private Boolean loanRepayable;
 }
 
@@ -35,6 +35,7 @@ public class MortgageAdjustmentRequestDto {
             requiredMode = Schema.RequiredMode.REQUIRED)
     @NotNull(message = "Reduction amount is required")
     @Positive(message = "Reduction amount must be positive")
+    @Digits(integer = 8, fraction = 2, message = "Reduction amount cannot have more than 2 decimal places")
     @DecimalMax(value = "10000.00", message = "Reduction amount cannot exceed 10,000")
     @DecimalMin(value = "100.00", message = "Minimum reduction amount is 100")
     private BigDecimal reductionAmount;
@@ -122,15 +122,20 @@ public class MortgageAdjustmentResponseDto {
                 requiredMode = Schema.RequiredMode.REQUIRED)
         private BigDecimal totalInterestImpact;
 
-        @Schema(description = "Projected Loan Completion Date",
-                requiredMode = Schema.RequiredMode.REQUIRED)
+        @Schema(description = "Projected Loan Completion Date, absent when the loan is not repayable",
+                requiredMode = Schema.RequiredMode.NOT_REQUIRED)
         private LocalDate projectedLoanCompletionDate;
 
-        @Schema(description = "Months Added to Loan Term Due to Adjustment",
+        @Schema(description = "Months Added to Loan Term Due to Adjustment, -1 when the loan is not repayable",
                 example = "3",
                 requiredMode = Schema.RequiredMode.REQUIRED)
         private Integer additionalMonths;
 
+        @Schema(description = "Whether the Regular Payment Still Repays the Loan After the Adjustment",
+                example = "true",
+                requiredMode = Schema.RequiredMode.REQUIRED)
+        private Boolean loanRepayable;
+
         @Schema(description = "Detailed Monthly Projections",
                 requiredMode = Schema.RequiredMode.NOT_REQUIRED)
         private List<MonthlyProjection> monthlyProjections;
@@ -0,0 +1,48 @@
+package com.poalimflex.dto.mortage.adjustment;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for simulating an adjustment under randomly generated interest rate paths
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Interest rate scenario simulation request")
+public class RateScenarioSimulationRequestDto {
+    @Schema(description = "User ID", example = "USER12345")
+    @NotBlank(message = "User ID cannot be blank")
+    private String userId;
+
+    @Schema(description = "Mortgage account number of a variable rate or hybrid mortgage", example = "MORT98765")
+    @NotBlank(message = "Mortgage account number cannot be blank")
+    private String mortgageAccountNumber;
+
+    @Schema(description = "Proposed reduction amount", example = "1500.00")
+    @NotNull(message = "Reduction amount is required")
+    @Positive(message = "Reduction amount must be positive")
+    @Digits(integer = 8, fraction = 2, message = "Reduction amount cannot have more than 2 decimal places")
+    private BigDecimal proposedReductionAmount;
+
+    @Schema(description = "Proposed adjustment duration in months", example = "3")
+    @NotNull(message = "Duration is required")
+    @Min(value = 1, message = "Duration must be at least 1 month")
+    @Max(value = 12, message = "Duration cannot exceed 12 months")
+    private Integer durationMonths;
+
+    @Schema(description = "Number of rate paths to simulate, the configured default when omitted", example = "10000")
+    @Min(value = 100, message = "At least 100 paths are required")
+    @Max(value = 100000, message = "At most 100000 paths can be simulated")
+    private Integer paths;
+
+    @Schema(description = "Random seed, to reproduce a previous run", example = "42")
+    private Long seed;
+}
@@ -0,0 +1,56 @@
+package com.poalimflex.dto.mortage.adjustment;
+
+import com.poalimflex.entity.Mortgage;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for interest rate scenario simulation results
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Interest rate scenario simulation result")
+public class RateScenarioSimulationResultDto {
+    @Schema(description = "Type of the simulated mortgage")
+    private Mortgage.MortgageType mortgageType;
+
+    @Schema(description = "Number of simulated rate paths", example = "10000")
+    private Integer paths;
+
+    @Schema(description = "Seed that reproduces this run", example = "42")
+    private Long seed;
+
+    @Schema(description = "Months at the start of the remaining term during which the rate stays fixed", example = "0")
+    private Integer fixedRateMonths;
+
+    @Schema(description = "Average monthly payment during the reduction period")
+    private PercentileBand adjustedPayment;
+
+    @Schema(description = "Interest paid over the remaining term in addition to the unadjusted mortgage on the same rate path")
+    private PercentileBand totalAdditionalInterest;
+
+    /**
+     * 5th, 50th and 95th percentile of a simulated amount
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PercentileBand {
+        @Schema(description = "5th percentile", example = "3650.00")
+        private BigDecimal p5;
+
+        @Schema(description = "Median", example = "3800.00")
+        private BigDecimal p50;
+
+        @Schema(description = "95th percentile", example = "4100.00")
+        private BigDecimal p95;
+    }
+}
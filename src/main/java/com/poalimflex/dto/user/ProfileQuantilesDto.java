@@ -0,0 +1,37 @@
+package com.poalimflex.dto.user;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO for quantiles of a financial profile value across all users
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Quantiles of a financial profile value across all users")
+public class ProfileQuantilesDto {
+    @Schema(description = "Profile value the quantiles describe")
+    private ProfileMetric metric;
+
+    @Schema(description = "Number of profiles with a value", example = "1045")
+    private Long profileCount;
+
+    @Schema(description = "Maximum relative error of each quantile", example = "0.01")
+    private Double relativeAccuracy;
+
+    @Schema(description = "Values keyed by percentile, such as p50 and p90")
+    private Map<String, Double> quantiles;
+
+    public enum ProfileMetric {
+        ANNUAL_INCOME,
+        CREDIT_SCORE,
+        DEBT_TO_INCOME_RATIO
+    }
+}
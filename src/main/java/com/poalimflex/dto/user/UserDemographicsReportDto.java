@@ -45,5 +45,14 @@ public class UserDemographicsReportDto {
 
     @Schema(description = "Average credit score", example = "712")
     private Integer averageCreditScore;
+
+    @Schema(description = "Median annual income", example = "68000.00")
+    private BigDecimal medianAnnualIncome;
+
+    @Schema(description = "Median credit score", example = "715")
+    private Integer medianCreditScore;
+
+    @Schema(description = "90th percentile debt-to-income ratio", example = "48.5")
+    private BigDecimal p90DebtToIncomeRatio;
 }
 
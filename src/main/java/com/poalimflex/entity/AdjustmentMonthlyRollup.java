@@ -0,0 +1,56 @@
+package com.poalimflex.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Per-month totals of mortgage adjustments, keyed by the month of the adjustment date ({@code yyyy-MM}).
+ * Maintained with {@code $inc} as adjustments are written, so trend reports read one small document
+ * per month instead of the adjustments themselves.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "adjustment_monthly_rollups")
+public class AdjustmentMonthlyRollup {
+    /**
+     * Month of the adjustment date, formatted {@code yyyy-MM}
+     */
+    @Id
+    private String month;
+
+    @Field("request_count")
+    private Long requestCount;
+
+    /**
+     * Sum of the monthly reductions, original minus reduced payment
+     */
+    @Field(value = "reduction_amount", targetType = FieldType.DECIMAL128)
+    private BigDecimal reductionAmount;
+
+    /**
+     * Adjustment counts keyed by {@link MortgageAdjustment.AdjustmentStatus} name
+     */
+    @Field("status_counts")
+    private Map<String, Long> statusCounts;
+
+    /**
+     * Adjustment counts keyed by {@link MortgageAdjustment.FinancialPressureType} name
+     */
+    @Field("pressure_type_counts")
+    private Map<String, Long> pressureTypeCounts;
+
+    @Field("last_updated")
+    private Date lastUpdated;
+}
@@ -0,0 +1,52 @@
+package com.poalimflex.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.util.Date;
+
+/**
+ * HyperLogLog registers of one distinct counter for one day or month. Nodes merge their registers in with
+ * optimistic locking on {@code version}, so concurrent flushes never drop each other's values.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "distinct_counters")
+public class DistinctCounterSketch {
+    /**
+     * Counter name and period, such as {@code active-users:2025-04-17} or {@code active-users:2025-04}
+     */
+    @Id
+    private String id;
+
+    @Field("counter")
+    private String counter;
+
+    /**
+     * Day ({@code yyyy-MM-dd}) or month ({@code yyyy-MM}) the registers cover
+     */
+    @Field("period")
+    private String period;
+
+    @Field("registers")
+    private byte[] registers;
+
+    @Version
+    private Long version;
+
+    /**
+     * When the document may be removed; day counters expire, month counters are kept
+     */
+    @Field("expires_at")
+    @Indexed(name = "expires_at_ttl_idx", expireAfterSeconds = 0)
+    private Date expiresAt;
+}
@@ -5,19 +5,21 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.List;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "mortgages")
+@CompoundIndex(name = "active_balance_idx", def = "{'current_balance': 1}", partialFilter = "{'is_active': true}")
 public class Mortgage {
     @Id
     private String id;
@@ -30,13 +32,13 @@ public class Mortgage {
     @Indexed
     private String userId;
 
-    @Field("original_loan_amount")
+    @Field(value = "original_loan_amount", targetType = FieldType.DECIMAL128)
     private BigDecimal originalLoanAmount;
 
-    @Field("current_balance")
+    @Field(value = "current_balance", targetType = FieldType.DECIMAL128)
     private BigDecimal currentBalance;
 
-    @Field("interest_rate")
+    @Field(value = "interest_rate", targetType = FieldType.DECIMAL128)
     private BigDecimal interestRate;
 
     @Field("loan_start_date")
@@ -45,7 +47,7 @@ public class Mortgage {
     @Field("original_loan_term_months")
     private Integer originalLoanTermMonths;
 
-    @Field("monthly_payment")
+    @Field(value = "monthly_payment", targetType = FieldType.DECIMAL128)
     private BigDecimal monthlyPayment;
 
     @Field("mortgage_type")
@@ -54,9 +56,6 @@ public class Mortgage {
     @Field("remaining_term_months")
     private Integer remainingTermMonths;
 
-    @Field("adjustments")
-    private List<MortgageAdjustment> adjustments;
-
     @Field("next_payment_date")
     private LocalDate nextPaymentDate;
 
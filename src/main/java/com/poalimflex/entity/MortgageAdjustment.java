@@ -5,8 +5,12 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -17,6 +21,13 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "mortgage_adjustments")
+@CompoundIndexes({
+        // Serves lookups by mortgage, rolling-year counts and keyset-paginated history
+        @CompoundIndex(name = "mortgage_date_idx", def = "{'mortgage_id': 1, 'adjustment_date': -1, '_id': -1}"),
+        @CompoundIndex(name = "mortgage_status_date_idx", def = "{'mortgage_id': 1, 'status': 1, 'adjustment_date': -1}"),
+        // Serves portfolio-wide reports over a date range
+        @CompoundIndex(name = "adjustment_date_idx", def = "{'adjustment_date': -1}")
+})
 public class MortgageAdjustment {
     @Id
     private String id;
@@ -27,13 +38,13 @@ public class MortgageAdjustment {
     @Field("adjustment_date")
     private LocalDateTime adjustmentDate;
 
-    @Field("original_monthly_payment")
+    @Field(value = "original_monthly_payment", targetType = FieldType.DECIMAL128)
     private BigDecimal originalMonthlyPayment;
 
-    @Field("reduced_payment")
+    @Field(value = "reduced_payment", targetType = FieldType.DECIMAL128)
     private BigDecimal reducedPayment;
 
-    @Field("additional_interest")
+    @Field(value = "additional_interest", targetType = FieldType.DECIMAL128)
     private BigDecimal additionalInterest;
 
     @Field("status")
@@ -54,6 +65,12 @@ public class MortgageAdjustment {
     @Field("risk_assessment_score")
     private Double riskAssessmentScore;
 
+    /**
+     * Optimistic lock; saves of a stale copy fail instead of overwriting a concurrent update
+     */
+    @Version
+    private Long version;
+
     // Enum for adjustment status
     public enum AdjustmentStatus {
         APPROVED,
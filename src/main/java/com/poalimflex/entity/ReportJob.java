@@ -0,0 +1,93 @@
+package com.poalimflex.entity;
+
+import com.poalimflex.dto.mortage.adjustment.AdjustmentSummaryReportDto;
+import com.poalimflex.dto.mortage.adjustment.AdjustmentTrendsReportDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * Asynchronous admin report computation and, once it has completed, its result. Documents expire through
+ * a TTL index: results a while after they finish, and jobs left behind by a stopped node once they have
+ * exceeded the maximum run time.
+ *
+ * <p>While a job is queued or running it holds its report parameters in {@code active_parameters}. The
+ * unique sparse index on that field lets at most one active job per report and date range exist across
+ * all nodes; the field is cleared when the job finishes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "report_jobs")
+public class ReportJob {
+    @Id
+    private String id;
+
+    @Field("report_type")
+    private ReportType reportType;
+
+    @Field("from_date")
+    private LocalDate fromDate;
+
+    @Field("to_date")
+    private LocalDate toDate;
+
+    @Field("state")
+    private JobState state;
+
+    @Field("active_parameters")
+    @Indexed(name = "active_parameters_idx", unique = true, sparse = true)
+    private String activeParameters;
+
+    @Field("completed_steps")
+    private Integer completedSteps;
+
+    @Field("total_steps")
+    private Integer totalSteps;
+
+    @Field("submitted_at")
+    private LocalDateTime submittedAt;
+
+    @Field("started_at")
+    private LocalDateTime startedAt;
+
+    @Field("finished_at")
+    private LocalDateTime finishedAt;
+
+    @Field("failure_reason")
+    private String failureReason;
+
+    @Field("adjustment_summary")
+    private AdjustmentSummaryReportDto adjustmentSummary;
+
+    @Field("adjustment_trends")
+    private AdjustmentTrendsReportDto adjustmentTrends;
+
+    @Field("expires_at")
+    @Indexed(name = "expires_at_ttl_idx", expireAfterSeconds = 0)
+    private Date expiresAt;
+
+    // Enum for reports that can be computed as a job
+    public enum ReportType {
+        ADJUSTMENT_SUMMARY,
+        ADJUSTMENT_TRENDS
+    }
+
+    // Enum for job states
+    public enum JobState {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
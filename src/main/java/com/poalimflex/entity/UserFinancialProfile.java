@@ -5,9 +5,12 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.domain.Persistable;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -18,7 +21,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "user_financial_profiles")
-public class UserFinancialProfile {
+public class UserFinancialProfile implements Persistable<String> {
     @Id
     private String id;
 
@@ -26,16 +29,19 @@ public class UserFinancialProfile {
     @Indexed(unique = true)
     private String userId;
 
-    @Field("total_annual_income")
+    @Field(value = "total_annual_income", targetType = FieldType.DECIMAL128)
     private BigDecimal totalAnnualIncome;
 
     @Field("credit_score")
+    @Indexed
     private Integer creditScore;
 
     @Field("employment_status")
+    @Indexed
     private EmploymentStatus employmentStatus;
 
-    @Field("debt_to_income_ratio")
+    @Field(value = "debt_to_income_ratio", targetType = FieldType.DECIMAL128)
+    @Indexed
     private BigDecimal debtToIncomeRatio;
 
     @Field("employment_start_date")
@@ -48,11 +54,27 @@ public class UserFinancialProfile {
     private List<MonthlyExpense> monthlyExpenses;
 
     @Field("financial_stability_score")
+    @Indexed
     private Double financialStabilityScore;
 
     @Field("last_assessment_date")
     private LocalDate lastAssessmentDate;
 
+    /**
+     * Optimistic lock; saves of a stale copy fail instead of overwriting a concurrent update. Profiles
+     * written before versioning have none and match a null version on their first update.
+     */
+    @Version
+    private Long version;
+
+    /**
+     * New means not yet stored, so profiles loaded without a version are still updated rather than inserted
+     */
+    @Override
+    public boolean isNew() {
+        return id == null;
+    }
+
     // Enum for employment status
     public enum EmploymentStatus {
         FULL_TIME,
@@ -103,7 +125,7 @@ public class UserFinancialProfile {
         @Field("expense_type")
         private ExpenseType expenseType;
 
-        @Field("amount")
+        @Field(value = "amount", targetType = FieldType.DECIMAL128)
         private BigDecimal amount;
 
         @Field("description")
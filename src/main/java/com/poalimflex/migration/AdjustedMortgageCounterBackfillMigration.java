@@ -0,0 +1,49 @@
+package com.poalimflex.migration;
+
+import com.poalimflex.entity.MortgageAdjustment;
+import com.poalimflex.entity.MortgageAdjustment.AdjustmentStatus;
+import com.poalimflex.sketch.DistinctCounterStore;
+import com.poalimflex.sketch.DistinctCounterStore.Counter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Counts the mortgages of existing approved adjustments into the adjusted mortgage distinct counters once.
+ * Counting a value twice does not change a distinct counter, so a rerun after an interruption is harmless.
+ */
+@Component
+@Order(5)
+@RequiredArgsConstructor
+public class AdjustedMortgageCounterBackfillMigration implements SchemaMigration {
+    private static final String MIGRATION_ID = "backfill-adjusted-mortgage-counters";
+
+    private final MongoTemplate mongoTemplate;
+    private final DistinctCounterStore distinctCounterStore;
+
+    @Override
+    public String id() {
+        return MIGRATION_ID;
+    }
+
+    @Override
+    public void migrate() {
+        Query query = new Query(Criteria.where("status")
+                .in(List.of(AdjustmentStatus.APPROVED, AdjustmentStatus.PARTIALLY_APPROVED))
+                .and("mortgageId").ne(null)
+                .and("adjustmentDate").ne(null));
+        query.fields().include("mortgageId", "adjustmentDate");
+
+        try (Stream<MortgageAdjustment> adjustments = mongoTemplate.stream(query, MortgageAdjustment.class)) {
+            adjustments.forEach(adjustment -> distinctCounterStore.record(Counter.ADJUSTED_MORTGAGES,
+                    adjustment.getMortgageId(), adjustment.getAdjustmentDate().toLocalDate()));
+        }
+        distinctCounterStore.flush();
+    }
+}
@@ -0,0 +1,29 @@
+package com.poalimflex.migration;
+
+import com.poalimflex.rollup.AdjustmentMonthlyRollupUpdater;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds {@code adjustment_monthly_rollups} from the existing adjustments once, after they have been
+ * detached and converted to Decimal128. Later writes keep the rollups current incrementally.
+ */
+@Component
+@Order(3)
+@RequiredArgsConstructor
+public class AdjustmentMonthlyRollupBackfillMigration implements SchemaMigration {
+    private static final String MIGRATION_ID = "backfill-adjustment-monthly-rollups";
+
+    private final AdjustmentMonthlyRollupUpdater rollupUpdater;
+
+    @Override
+    public String id() {
+        return MIGRATION_ID;
+    }
+
+    @Override
+    public void migrate() {
+        rollupUpdater.rebuild();
+    }
+}
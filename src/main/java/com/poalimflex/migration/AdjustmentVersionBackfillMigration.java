@@ -0,0 +1,39 @@
+package com.poalimflex.migration;
+
+import com.poalimflex.entity.MortgageAdjustment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gives adjustments written before they were versioned version 0. Without a version an adjustment that is
+ * loaded and saved again would be treated as new and inserted, failing on its existing {@code _id}.
+ */
+@Component
+@Order(6)
+@Slf4j
+@RequiredArgsConstructor
+public class AdjustmentVersionBackfillMigration implements SchemaMigration {
+    private static final String MIGRATION_ID = "backfill-adjustment-versions";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public String id() {
+        return MIGRATION_ID;
+    }
+
+    @Override
+    public void migrate() {
+        long updated = mongoTemplate.updateMulti(
+                new Query(Criteria.where("version").exists(false)),
+                new Update().set("version", 0L),
+                MortgageAdjustment.class).getModifiedCount();
+        log.info("Set version 0 on {} unversioned adjustments", updated);
+    }
+}
@@ -0,0 +1,114 @@
+package com.poalimflex.migration;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Removes the legacy embedded {@code adjustments} array from mortgage documents. Adjustments are
+ * referenced through {@code mortgage_adjustments.mortgage_id}; any embedded entry missing from that
+ * collection is copied there first (insert-only, never overwriting the standalone document) and the
+ * array is unset afterwards, so no adjustment is lost if the run stops between the two steps.
+ */
+@Component
+@Order(1)
+public class EmbeddedAdjustmentsDetachMigration implements SchemaMigration {
+    private static final String MIGRATION_ID = "detach-embedded-adjustments";
+    private static final String MORTGAGES = "mortgages";
+    private static final String MORTGAGE_ADJUSTMENTS = "mortgage_adjustments";
+
+    private final MongoTemplate mongoTemplate;
+    private final MigrationCheckpointStore checkpointStore;
+    private final int batchSize;
+    private final Duration pauseBetweenBatches;
+
+    public EmbeddedAdjustmentsDetachMigration(
+            MongoTemplate mongoTemplate,
+            MigrationCheckpointStore checkpointStore,
+            @Value("${poalim.flex.migrations.batch-size:500}") int batchSize,
+            @Value("${poalim.flex.migrations.pause-between-batches:50ms}") Duration pauseBetweenBatches) {
+        this.mongoTemplate = mongoTemplate;
+        this.checkpointStore = checkpointStore;
+        this.batchSize = batchSize;
+        this.pauseBetweenBatches = pauseBetweenBatches;
+    }
+
+    @Override
+    public String id() {
+        return MIGRATION_ID;
+    }
+
+    @Override
+    public void migrate() throws InterruptedException {
+        MongoCollection<Document> mortgages = mongoTemplate.getCollection(MORTGAGES);
+        MongoCollection<Document> adjustments = mongoTemplate.getCollection(MORTGAGE_ADJUSTMENTS);
+        Object lastId = checkpointStore.lastProcessedId(MIGRATION_ID, MORTGAGES);
+
+        while (true) {
+            List<Object> ids = new ArrayList<>(batchSize);
+            List<WriteModel<Document>> copies = new ArrayList<>();
+
+            for (Document mortgage : mortgages.find(lastId == null
+                            ? Filters.exists("adjustments")
+                            : Filters.and(Filters.gt("_id", lastId), Filters.exists("adjustments")))
+                    .projection(Projections.include("_id", "adjustments"))
+                    .sort(Sorts.ascending("_id"))
+                    .limit(batchSize)) {
+                ids.add(mortgage.get("_id"));
+                copyMissingAdjustments(mortgage, copies);
+            }
+            if (ids.isEmpty()) {
+                return;
+            }
+
+            if (!copies.isEmpty()) {
+                adjustments.bulkWrite(copies);
+            }
+            mortgages.updateMany(Filters.in("_id", ids), Updates.unset("adjustments"));
+
+            lastId = ids.get(ids.size() - 1);
+            checkpointStore.saveCheckpoint(MIGRATION_ID, MORTGAGES, lastId);
+
+            if (!pauseBetweenBatches.isZero()) {
+                Thread.sleep(pauseBetweenBatches.toMillis());
+            }
+        }
+    }
+
+    private void copyMissingAdjustments(Document mortgage, List<WriteModel<Document>> copies) {
+        Object embedded = mortgage.get("adjustments");
+        if (!(embedded instanceof List<?> entries)) {
+            return;
+        }
+
+        for (Object entry : entries) {
+            if (!(entry instanceof Document adjustment)) {
+                continue;
+            }
+
+            Document fields = new Document(adjustment);
+            Object adjustmentId = fields.remove("_id");
+            fields.putIfAbsent("mortgage_id", mortgage.get("_id").toString());
+
+            copies.add(new UpdateOneModel<>(
+                    Filters.eq("_id", adjustmentId != null ? adjustmentId : new ObjectId()),
+                    new Document("$setOnInsert", fields),
+                    new UpdateOptions().upsert(true)));
+        }
+    }
+}
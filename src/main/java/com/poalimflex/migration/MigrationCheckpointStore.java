@@ -0,0 +1,62 @@
+package com.poalimflex.migration;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Progress of schema migrations, one document per migration in {@code schema_migrations}
+ */
+@Component
+@RequiredArgsConstructor
+public class MigrationCheckpointStore {
+    static final String MIGRATIONS_COLLECTION = "schema_migrations";
+
+    private final MongoTemplate mongoTemplate;
+
+    public boolean isCompleted(String migrationId) {
+        Document state = find(migrationId);
+        return state != null && Boolean.TRUE.equals(state.getBoolean("completed"));
+    }
+
+    /**
+     * Last {@code _id} processed in a collection, or null if the collection has not been started
+     */
+    public Object lastProcessedId(String migrationId, String collection) {
+        Document state = find(migrationId);
+        Document checkpoints = state != null ? state.get("checkpoints", Document.class) : null;
+        return checkpoints != null ? checkpoints.get(collection) : null;
+    }
+
+    public void saveCheckpoint(String migrationId, String collection, Object lastProcessedId) {
+        upsert(migrationId, Updates.combine(
+                Updates.set("checkpoints." + collection, lastProcessedId),
+                Updates.set("updated_at", Instant.now())));
+    }
+
+    public void markCompleted(String migrationId) {
+        upsert(migrationId, Updates.combine(
+                Updates.set("completed", true),
+                Updates.set("updated_at", Instant.now())));
+    }
+
+    private Document find(String migrationId) {
+        return collection().find(Filters.eq("_id", migrationId)).first();
+    }
+
+    private void upsert(String migrationId, Bson update) {
+        collection().updateOne(Filters.eq("_id", migrationId), update, new UpdateOptions().upsert(true));
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(MIGRATIONS_COLLECTION);
+    }
+}
@@ -0,0 +1,153 @@
+package com.poalimflex.migration;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts money fields stored as strings (the default {@code BigDecimal} mapping) to Decimal128.
+ * Documents are rewritten in {@code _id} order in small batches with a server-side pipeline update and
+ * the last processed {@code _id} of every collection is checkpointed. Each update only touches values
+ * that are still strings, so overlapping runs and concurrent writes are harmless.
+ */
+@Component
+@Order(2)
+public class MoneyFieldsDecimal128Migration implements SchemaMigration {
+    private static final String MIGRATION_ID = "money-fields-decimal128";
+
+    private static final List<String> ADJUSTMENT_FIELDS = List.of(
+            "original_monthly_payment", "reduced_payment", "additional_interest");
+
+    /**
+     * Collections to migrate, with their top-level money fields and money fields nested in arrays
+     */
+    private static final List<CollectionSpec> COLLECTIONS = List.of(
+            new CollectionSpec("mortgages",
+                    List.of("original_loan_amount", "current_balance", "interest_rate", "monthly_payment"),
+                    Map.of()),
+            new CollectionSpec("mortgage_adjustments", ADJUSTMENT_FIELDS, Map.of()),
+            new CollectionSpec("user_financial_profiles",
+                    List.of("total_annual_income", "debt_to_income_ratio"),
+                    Map.of("monthly_expenses", List.of("amount"))));
+
+    private final MongoTemplate mongoTemplate;
+    private final MigrationCheckpointStore checkpointStore;
+    private final int batchSize;
+    private final Duration pauseBetweenBatches;
+
+    public MoneyFieldsDecimal128Migration(
+            MongoTemplate mongoTemplate,
+            MigrationCheckpointStore checkpointStore,
+            @Value("${poalim.flex.migrations.batch-size:500}") int batchSize,
+            @Value("${poalim.flex.migrations.pause-between-batches:50ms}") Duration pauseBetweenBatches) {
+        this.mongoTemplate = mongoTemplate;
+        this.checkpointStore = checkpointStore;
+        this.batchSize = batchSize;
+        this.pauseBetweenBatches = pauseBetweenBatches;
+    }
+
+    @Override
+    public String id() {
+        return MIGRATION_ID;
+    }
+
+    @Override
+    public void migrate() throws InterruptedException {
+        for (CollectionSpec spec : COLLECTIONS) {
+            migrateCollection(spec);
+        }
+    }
+
+    private void migrateCollection(CollectionSpec spec) throws InterruptedException {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(spec.collection());
+        List<Bson> update = List.of(new Document("$set", spec.conversions()));
+        Object lastId = checkpointStore.lastProcessedId(MIGRATION_ID, spec.collection());
+
+        while (true) {
+            Bson pending = lastId == null
+                    ? spec.pendingFilter()
+                    : Filters.and(Filters.gt("_id", lastId), spec.pendingFilter());
+
+            List<Object> ids = new ArrayList<>(batchSize);
+            for (Document document : collection.find(pending)
+                    .projection(Projections.include("_id"))
+                    .sort(Sorts.ascending("_id"))
+                    .limit(batchSize)) {
+                ids.add(document.get("_id"));
+            }
+            if (ids.isEmpty()) {
+                return;
+            }
+
+            collection.updateMany(Filters.in("_id", ids), update);
+            lastId = ids.get(ids.size() - 1);
+            checkpointStore.saveCheckpoint(MIGRATION_ID, spec.collection(), lastId);
+
+            if (!pauseBetweenBatches.isZero()) {
+                Thread.sleep(pauseBetweenBatches.toMillis());
+            }
+        }
+    }
+
+    /**
+     * Money fields of one collection
+     *
+     * @param collection Collection name
+     * @param fields Top-level money fields
+     * @param arrayFields Money fields of documents embedded in arrays, keyed by array field
+     */
+    private record CollectionSpec(String collection, List<String> fields, Map<String, List<String>> arrayFields) {
+
+        /**
+         * Documents with at least one money field still stored as a string
+         */
+        Bson pendingFilter() {
+            List<Bson> stringTyped = new ArrayList<>();
+            fields.forEach(field -> stringTyped.add(Filters.type(field, "string")));
+            arrayFields.forEach((array, nested) ->
+                    nested.forEach(field -> stringTyped.add(Filters.type(array + "." + field, "string"))));
+            return Filters.or(stringTyped);
+        }
+
+        /**
+         * {@code $set} stage converting string values in place and leaving everything else untouched
+         */
+        Document conversions() {
+            Document set = new Document();
+            fields.forEach(field -> set.append(field, toDecimal("$" + field)));
+
+            arrayFields.forEach((array, nested) -> {
+                Document mergedFields = new Document();
+                nested.forEach(field -> mergedFields.append(field, toDecimal("$$item." + field)));
+
+                set.append(array, new Document("$cond", List.of(
+                        new Document("$isArray", "$" + array),
+                        new Document("$map", new Document()
+                                .append("input", "$" + array)
+                                .append("as", "item")
+                                .append("in", new Document("$mergeObjects", List.of("$$item", mergedFields)))),
+                        "$" + array)));
+            });
+            return set;
+        }
+
+        private static Document toDecimal(String value) {
+            return new Document("$cond", List.of(
+                    new Document("$eq", List.of(new Document("$type", value), "string")),
+                    new Document("$toDecimal", value),
+                    value));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.poalimflex.migration;
+
+import com.poalimflex.sketch.ProfileDistributionStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the stored profile distribution from the existing financial profiles once. Later profile writes
+ * keep it current incrementally. The rebuild replaces the stored distribution, so it runs before the web
+ * server accepts requests: no profile write can race the scan or be flushed under the replaced document.
+ */
+@Component
+@Order(4)
+@RequiredArgsConstructor
+public class ProfileDistributionBackfillMigration implements SchemaMigration {
+    private static final String MIGRATION_ID = "backfill-profile-distribution";
+
+    private final ProfileDistributionStore profileDistributionStore;
+
+    @Override
+    public String id() {
+        return MIGRATION_ID;
+    }
+
+    @Override
+    public void migrate() {
+        profileDistributionStore.rebuild();
+    }
+
+    @Override
+    public boolean beforeTraffic() {
+        return true;
+    }
+}
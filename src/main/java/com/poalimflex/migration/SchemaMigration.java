@@ -0,0 +1,24 @@
+package com.poalimflex.migration;
+
+/**
+ * Online data migration run by {@link SchemaMigrationRunner}. Implementations must be idempotent and
+ * resumable: progress is checkpointed through {@link MigrationCheckpointStore}, and a run interrupted at
+ * any point is simply started again on the next boot.
+ */
+public interface SchemaMigration {
+
+    /**
+     * Stable identifier used as the key of the migration's checkpoint document
+     */
+    String id();
+
+    void migrate() throws InterruptedException;
+
+    /**
+     * Whether the migration must finish before the web server accepts requests, for migrations that need
+     * the data they read to stay still. These run at startup instead of on the background thread.
+     */
+    default boolean beforeTraffic() {
+        return false;
+    }
+}
@@ -0,0 +1,76 @@
+package com.poalimflex.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Runs pending {@link SchemaMigration}s one after another on a background thread once the application
+ * is ready, in {@code @Order} sequence. A failing migration stops the run so later migrations never see
+ * a half-migrated shape; everything resumes from its checkpoint on the next start. Migrations that
+ * declare {@link SchemaMigration#beforeTraffic()} run first, once all beans are created and before the
+ * web server starts.
+ */
+@Component
+@Slf4j
+public class SchemaMigrationRunner implements SmartInitializingSingleton {
+    private final List<SchemaMigration> migrations;
+    private final MigrationCheckpointStore checkpointStore;
+    private final boolean enabled;
+
+    public SchemaMigrationRunner(
+            List<SchemaMigration> migrations,
+            MigrationCheckpointStore checkpointStore,
+            @Value("${poalim.flex.migrations.enabled:true}") boolean enabled) {
+        this.migrations = migrations;
+        this.checkpointStore = checkpointStore;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+
+        runPending(migrations.stream().filter(SchemaMigration::beforeTraffic).toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void runOnStartup() {
+        if (!enabled) {
+            return;
+        }
+
+        List<SchemaMigration> online = migrations.stream().filter(migration -> !migration.beforeTraffic()).toList();
+        new SimpleAsyncTaskExecutor("schema-migration-").execute(() -> runPending(online));
+    }
+
+    private void runPending(List<SchemaMigration> pending) {
+        for (SchemaMigration migration : pending) {
+            try {
+                if (checkpointStore.isCompleted(migration.id())) {
+                    continue;
+                }
+
+                log.info("Running schema migration {}", migration.id());
+                migration.migrate();
+                checkpointStore.markCompleted(migration.id());
+                log.info("Schema migration {} completed", migration.id());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Schema migration {} interrupted; it will resume from its checkpoint", migration.id());
+                return;
+            } catch (RuntimeException e) {
+                log.error("Schema migration {} failed; it will resume from its checkpoint", migration.id(), e);
+                return;
+            }
+        }
+    }
+}
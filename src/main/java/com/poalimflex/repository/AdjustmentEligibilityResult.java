@@ -0,0 +1,36 @@
+package com.poalimflex.repository;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Outcome of the single-pass eligibility aggregation over a user's mortgages and their adjustments
+ */
+@Value
+@Builder
+public class AdjustmentEligibilityResult {
+    long activeMortgageCount;
+
+    /**
+     * Whether any active mortgage still has more than 20% of the loan outstanding and more than 12 months to run
+     */
+    boolean mortgageCriteriaMet;
+
+    /**
+     * Adjustments made in the last year, keyed by mortgage ID (zero counts included)
+     */
+    Map<String, Long> recentAdjustmentCounts;
+
+    boolean eligible;
+
+    public static AdjustmentEligibilityResult noMortgages() {
+        return AdjustmentEligibilityResult.builder()
+                .activeMortgageCount(0)
+                .mortgageCriteriaMet(false)
+                .recentAdjustmentCounts(Map.of())
+                .eligible(false)
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.poalimflex.repository;
+
+import com.poalimflex.entity.AdjustmentMonthlyRollup;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AdjustmentMonthlyRollupRepository extends MongoRepository<AdjustmentMonthlyRollup, String> {
+    /**
+     * Find the rollups of an inclusive range of months, both formatted {@code yyyy-MM}
+     */
+    @Query("{ '_id': { $gte: ?0, $lte: ?1 } }")
+    List<AdjustmentMonthlyRollup> findByMonthRange(String fromMonth, String toMonth, Sort sort);
+}
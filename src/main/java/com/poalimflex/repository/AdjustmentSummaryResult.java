@@ -0,0 +1,105 @@
+package com.poalimflex.repository;
+
+import com.poalimflex.entity.MortgageAdjustment.AdjustmentStatus;
+import com.poalimflex.entity.MortgageAdjustment.FinancialPressureType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Outcome of the single-pass summary aggregation over {@code mortgage_adjustments}. Amounts are exact; sums
+ * are kept next to their counts so that summaries of disjoint date ranges can be {@link #merge merged}.
+ */
+@Value
+@Builder
+public class AdjustmentSummaryResult {
+    long totalAdjustments;
+
+    /**
+     * Adjustment counts per status, statuses without adjustments omitted
+     */
+    Map<AdjustmentStatus, Long> countsByStatus;
+
+    /**
+     * Sum of the monthly reduction, original minus reduced payment, over the adjustments that record both
+     */
+    BigDecimal totalReductionAmount;
+
+    long reductionCount;
+
+    BigDecimal totalAdditionalInterest;
+
+    /**
+     * Mean over the adjustments with a risk score, null if none has one
+     */
+    Double averageRiskScore;
+
+    long riskScoreCount;
+
+    /**
+     * Adjustment counts per pressure type, types without adjustments omitted
+     */
+    Map<FinancialPressureType, Long> countsByPressureType;
+
+    /**
+     * Mean monthly reduction, null if no adjustment records both payments
+     */
+    public BigDecimal getAverageReductionAmount() {
+        return reductionCount > 0
+                ? totalReductionAmount.divide(BigDecimal.valueOf(reductionCount), MathContext.DECIMAL128)
+                : null;
+    }
+
+    /**
+     * Most frequent pressure type, the first declared on a tie, null if no adjustment records one
+     */
+    public FinancialPressureType getMostCommonPressureType() {
+        FinancialPressureType mostCommon = null;
+        long highest = 0;
+        for (FinancialPressureType pressureType : FinancialPressureType.values()) {
+            long count = countsByPressureType.getOrDefault(pressureType, 0L);
+            if (count > highest) {
+                mostCommon = pressureType;
+                highest = count;
+            }
+        }
+        return mostCommon;
+    }
+
+    /**
+     * Summary of the adjustments of both results, which must cover disjoint date ranges
+     */
+    public AdjustmentSummaryResult merge(AdjustmentSummaryResult other) {
+        long riskScores = riskScoreCount + other.riskScoreCount;
+        Double averageRisk = riskScores > 0
+                ? (weightedRisk(this) + weightedRisk(other)) / riskScores
+                : null;
+
+        return AdjustmentSummaryResult.builder()
+                .totalAdjustments(totalAdjustments + other.totalAdjustments)
+                .countsByStatus(mergeCounts(countsByStatus, other.countsByStatus, AdjustmentStatus.class))
+                .totalReductionAmount(totalReductionAmount.add(other.totalReductionAmount))
+                .reductionCount(reductionCount + other.reductionCount)
+                .totalAdditionalInterest(totalAdditionalInterest.add(other.totalAdditionalInterest))
+                .averageRiskScore(averageRisk)
+                .riskScoreCount(riskScores)
+                .countsByPressureType(mergeCounts(
+                        countsByPressureType, other.countsByPressureType, FinancialPressureType.class))
+                .build();
+    }
+
+    private static double weightedRisk(AdjustmentSummaryResult result) {
+        return result.averageRiskScore != null ? result.averageRiskScore * result.riskScoreCount : 0;
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> mergeCounts(Map<E, Long> first, Map<E, Long> second, Class<E> type) {
+        Map<E, Long> merged = new EnumMap<>(type);
+        merged.putAll(first);
+        second.forEach((key, count) -> merged.merge(key, count, Long::sum));
+        return merged;
+    }
+}
@@ -2,25 +2,19 @@ package com.poalimflex.repository;
 
 import com.poalimflex.entity.MortgageAdjustment;
 import org.springframework.data.mongodb.repository.MongoRepository;
-import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface MortgageAdjustmentRepository extends MongoRepository<MortgageAdjustment, String> {
+public interface MortgageAdjustmentRepository extends MongoRepository<MortgageAdjustment, String>,
+        MortgageAdjustmentRepositoryCustom {
     /**
      * Find adjustments for a specific mortgage
      */
     List<MortgageAdjustment> findByMortgageId(String mortgageId);
 
-    /**
-     * Count adjustments in the last 12 months
-     */
-    @Query("{ 'mortgageId': ?0, 'adjustmentDate': { $gte: ?1 } }")
-    long countAdjustmentsInLastYear(String mortgageId, LocalDateTime oneYearAgo);
-
     /**
      * Find recent adjustments with specific status
      */
@@ -28,4 +22,9 @@ public interface MortgageAdjustmentRepository extends MongoRepository<MortgageAd
             String mortgageId,
             MortgageAdjustment.AdjustmentStatus status
     );
+
+    /**
+     * Find the earliest adjustment, served by adjustment_date_idx
+     */
+    Optional<MortgageAdjustment> findFirstByAdjustmentDateNotNullOrderByAdjustmentDateAsc();
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.poalimflex.repository;
+
+import com.poalimflex.entity.MortgageAdjustment;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Custom queries on mortgage adjustments that cannot be expressed as derived queries
+ */
+public interface MortgageAdjustmentRepositoryCustom {
+    /**
+     * Find adjustments for any of the given mortgages with a single {@code $in} query,
+     * newest first, with the date range applied on the server
+     *
+     * @param mortgageIds Mortgages to include
+     * @param from Optional inclusive lower bound on the adjustment date
+     * @param toExclusive Optional exclusive upper bound on the adjustment date
+     */
+    List<MortgageAdjustment> findByMortgageIdsAndDateRange(
+            Collection<String> mortgageIds, LocalDateTime from, LocalDateTime toExclusive);
+
+    /**
+     * Find one page of adjustments for the given mortgages, ordered by adjustment date and then ID,
+     * both descending. Pass the date and ID of the last row of the previous page to continue after it.
+     *
+     * @param mortgageIds Mortgages to include
+     * @param from Optional inclusive lower bound on the adjustment date
+     * @param toExclusive Optional exclusive upper bound on the adjustment date
+     * @param afterAdjustmentDate Adjustment date of the last row already returned, or null for the first page
+     * @param afterId ID of the last row already returned, or null for the first page
+     * @param limit Maximum number of rows to return
+     */
+    List<MortgageAdjustment> findPageByMortgageIds(
+            Collection<String> mortgageIds, LocalDateTime from, LocalDateTime toExclusive,
+            LocalDateTime afterAdjustmentDate, String afterId, int limit);
+
+    /**
+     * Stream adjustments for the given mortgages straight off the MongoDB cursor, in the same order
+     * as {@link #findPageByMortgageIds}. The caller must close the stream.
+     */
+    Stream<MortgageAdjustment> streamByMortgageIds(
+            Collection<String> mortgageIds, LocalDateTime from, LocalDateTime toExclusive);
+
+    /**
+     * Summarize all adjustments in a date range with one aggregation: counts per status and pressure type,
+     * reduction and interest totals and the average risk score
+     *
+     * @param from Optional inclusive lower bound on the adjustment date
+     * @param toExclusive Optional exclusive upper bound on the adjustment date
+     */
+    AdjustmentSummaryResult summarizeAdjustments(LocalDateTime from, LocalDateTime toExclusive);
+}
@@ -0,0 +1,186 @@
+package com.poalimflex.repository;
+
+import com.poalimflex.entity.MortgageAdjustment;
+import com.poalimflex.entity.MortgageAdjustment.AdjustmentStatus;
+import com.poalimflex.entity.MortgageAdjustment.FinancialPressureType;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class MortgageAdjustmentRepositoryImpl implements MortgageAdjustmentRepositoryCustom {
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<MortgageAdjustment> findByMortgageIdsAndDateRange(
+            Collection<String> mortgageIds, LocalDateTime from, LocalDateTime toExclusive) {
+        if (mortgageIds.isEmpty()) {
+            return List.of();
+        }
+
+        Query query = new Query(historyCriteria(mortgageIds, from, toExclusive, null, null))
+                .with(Sort.by(Sort.Direction.DESC, "adjustmentDate"));
+
+        return mongoTemplate.find(query, MortgageAdjustment.class);
+    }
+
+    @Override
+    public List<MortgageAdjustment> findPageByMortgageIds(
+            Collection<String> mortgageIds, LocalDateTime from, LocalDateTime toExclusive,
+            LocalDateTime afterAdjustmentDate, String afterId, int limit) {
+        if (mortgageIds.isEmpty()) {
+            return List.of();
+        }
+
+        Query query = new Query(historyCriteria(mortgageIds, from, toExclusive, afterAdjustmentDate, afterId))
+                .with(keysetSort())
+                .limit(limit);
+
+        return mongoTemplate.find(query, MortgageAdjustment.class);
+    }
+
+    @Override
+    public Stream<MortgageAdjustment> streamByMortgageIds(
+            Collection<String> mortgageIds, LocalDateTime from, LocalDateTime toExclusive) {
+        if (mortgageIds.isEmpty()) {
+            return Stream.empty();
+        }
+
+        Query query = new Query(historyCriteria(mortgageIds, from, toExclusive, null, null))
+                .with(keysetSort())
+                .cursorBatchSize(STREAM_BATCH_SIZE);
+
+        return mongoTemplate.stream(query, MortgageAdjustment.class);
+    }
+
+    private Sort keysetSort() {
+        return Sort.by(Sort.Direction.DESC, "adjustmentDate").and(Sort.by(Sort.Direction.DESC, "id"));
+    }
+
+    @Override
+    public AdjustmentSummaryResult summarizeAdjustments(LocalDateTime from, LocalDateTime toExclusive) {
+        // Served by adjustment_date_idx; everything after the $match runs on the server
+        Document dateRange = new Document();
+        if (from != null) {
+            dateRange.append("$gte", mongoTemplate.getConverter().convertToMongoType(from));
+        }
+        if (toExclusive != null) {
+            dateRange.append("$lt", mongoTemplate.getConverter().convertToMongoType(toExclusive));
+        }
+        Document match = new Document("$match",
+                dateRange.isEmpty() ? new Document() : new Document("adjustment_date", dateRange));
+
+        // $toDecimal keeps the arithmetic numeric for documents not yet migrated to Decimal128
+        Document reduction = new Document("$subtract", List.of(
+                new Document("$toDecimal", "$original_monthly_payment"),
+                new Document("$toDecimal", "$reduced_payment")));
+
+        Document facet = new Document("$facet", new Document()
+                .append("by_status", List.of(new Document("$group", new Document()
+                        .append("_id", "$status")
+                        .append("count", new Document("$sum", 1)))))
+                .append("totals", List.of(new Document("$group", new Document()
+                        .append("_id", null)
+                        .append("total_reduction", new Document("$sum", reduction))
+                        .append("reduction_count", countIfNumber(reduction))
+                        .append("total_interest", new Document("$sum",
+                                new Document("$toDecimal", "$additional_interest")))
+                        .append("average_risk", new Document("$avg", "$risk_assessment_score"))
+                        .append("risk_count", countIfNumber("$risk_assessment_score")))))
+                .append("pressure_types", List.of(
+                        new Document("$match", new Document("financial_pressure_type", new Document("$ne", null))),
+                        new Document("$sortByCount", "$financial_pressure_type"))));
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                        Aggregation.stage(match),
+                        Aggregation.stage(facet))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+        Document summary = mongoTemplate.aggregate(aggregation, "mortgage_adjustments", Document.class)
+                .getUniqueMappedResult();
+
+        Map<AdjustmentStatus, Long> countsByStatus = new EnumMap<>(AdjustmentStatus.class);
+        long totalAdjustments = 0;
+        for (Document status : summary.getList("by_status", Document.class)) {
+            long count = ((Number) status.get("count")).longValue();
+            totalAdjustments += count;
+            if (status.getString("_id") != null) {
+                countsByStatus.put(AdjustmentStatus.valueOf(status.getString("_id")), count);
+            }
+        }
+
+        List<Document> totals = summary.getList("totals", Document.class);
+        Document total = totals.isEmpty() ? new Document() : totals.get(0);
+        Map<FinancialPressureType, Long> countsByPressureType = new EnumMap<>(FinancialPressureType.class);
+        for (Document pressureType : summary.getList("pressure_types", Document.class)) {
+            countsByPressureType.put(FinancialPressureType.valueOf(pressureType.getString("_id")),
+                    ((Number) pressureType.get("count")).longValue());
+        }
+
+        return AdjustmentSummaryResult.builder()
+                .totalAdjustments(totalAdjustments)
+                .countsByStatus(countsByStatus)
+                .totalReductionAmount(toAmount(total.get("total_reduction")))
+                .reductionCount(total.get("reduction_count") instanceof Number n ? n.longValue() : 0)
+                .totalAdditionalInterest(toAmount(total.get("total_interest")))
+                .averageRiskScore(total.get("average_risk") instanceof Number n ? n.doubleValue() : null)
+                .riskScoreCount(total.get("risk_count") instanceof Number n ? n.longValue() : 0)
+                .countsByPressureType(countsByPressureType)
+                .build();
+    }
+
+    private static Document countIfNumber(Object expression) {
+        return new Document("$sum", new Document("$cond", List.of(
+                new Document("$isNumber", expression), 1, 0)));
+    }
+
+    private static BigDecimal toAmount(Object value) {
+        if (value instanceof Decimal128 decimal) {
+            return decimal.bigDecimalValue();
+        }
+        if (value instanceof Number number) {
+            return new BigDecimal(number.toString());
+        }
+        return BigDecimal.ZERO;
+    }
+
+    private Criteria historyCriteria(
+            Collection<String> mortgageIds, LocalDateTime from, LocalDateTime toExclusive,
+            LocalDateTime afterAdjustmentDate, String afterId) {
+        List<Criteria> conditions = new ArrayList<>();
+        conditions.add(Criteria.where("mortgageId").in(mortgageIds));
+
+        if (from != null) {
+            conditions.add(Criteria.where("adjustmentDate").gte(from));
+        }
+        if (toExclusive != null) {
+            conditions.add(Criteria.where("adjustmentDate").lt(toExclusive));
+        }
+
+        // Keyset continuation: strictly after the last row of the previous page in (date desc, id desc) order
+        if (afterAdjustmentDate != null && afterId != null) {
+            conditions.add(new Criteria().orOperator(
+                    Criteria.where("adjustmentDate").lt(afterAdjustmentDate),
+                    Criteria.where("adjustmentDate").is(afterAdjustmentDate).and("id").lt(afterId)));
+        }
+
+        return new Criteria().andOperator(conditions);
+    }
+}
@@ -0,0 +1,30 @@
+package com.poalimflex.repository;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Outcome of the single {@code $group} over active mortgages. Averages are null when no active mortgage
+ * records the field.
+ */
+@Value
+@Builder
+public class MortgagePortfolioTotals {
+    long activeMortgages;
+
+    /**
+     * Sum of the current balances
+     */
+    BigDecimal totalBalance;
+
+    BigDecimal averageBalance;
+
+    /**
+     * Mean annual interest rate in percent
+     */
+    BigDecimal averageInterestRate;
+
+    Double averageRemainingTermMonths;
+}
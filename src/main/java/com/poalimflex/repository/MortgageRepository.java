@@ -1,6 +1,9 @@
 package com.poalimflex.repository;
 
 import com.poalimflex.entity.Mortgage;
+import com.poalimflex.repository.projection.MortgageDetailsView;
+import com.poalimflex.repository.projection.MortgageStatisticsView;
+import com.poalimflex.repository.projection.MortgageSummaryView;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -10,7 +13,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface MortgageRepository extends MongoRepository<Mortgage, String> {
+public interface MortgageRepository extends MongoRepository<Mortgage, String>, MortgageRepositoryCustom {
     /**
      * Find mortgage by account number
      */
@@ -22,17 +25,49 @@ public interface MortgageRepository extends MongoRepository<Mortgage, String> {
     List<Mortgage> findByUserId(String userId);
 
     /**
-     * Check if user is eligible for mortgage adjustment
+     * Find summary fields of a user's mortgages
      */
-    @Query("{ 'userId': ?0, " +
-            "'isActive': true, " +
-            "'$expr': { " +
-            "    $and: [ " +
-            "        { $gt: [ { $divide: ['$currentBalance', '$originalLoanAmount'] }, 0.2 ] }, " +
-            "        { $gt: ['$remainingTermMonths', 12] } " +
-            "    ] " +
-            "} }")
-    boolean isUserEligibleForAdjustment(String userId);
+    List<MortgageSummaryView> findSummariesByUserId(String userId);
+
+    /**
+     * Find summary fields of a mortgage by account number
+     */
+    Optional<MortgageSummaryView> findSummaryByAccountNumber(String accountNumber);
+
+    /**
+     * Find only the fields a simulation depends on, used as a cheap version check before consulting the
+     * simulation cache
+     */
+    @Query(value = "{ 'accountNumber': ?0 }",
+            fields = "{ 'accountNumber': 1, 'currentBalance': 1, 'interestRate': 1, "
+                    + "'remainingTermMonths': 1, 'monthlyPayment': 1 }")
+    Optional<Mortgage> findSimulationInputsByAccountNumber(String accountNumber);
+
+    /**
+     * Find the simulation fields of a mortgage by account number, only if it belongs to the user
+     */
+    @Query(value = "{ 'userId': ?0, 'accountNumber': ?1 }",
+            fields = "{ 'accountNumber': 1, 'currentBalance': 1, 'interestRate': 1, "
+                    + "'remainingTermMonths': 1, 'monthlyPayment': 1 }")
+    Optional<Mortgage> findSimulationInputsByUserIdAndAccountNumber(String userId, String accountNumber);
+
+    /**
+     * Find the simulation fields of a user's active mortgages
+     */
+    @Query(value = "{ 'userId': ?0, 'isActive': true }",
+            fields = "{ 'accountNumber': 1, 'currentBalance': 1, 'interestRate': 1, "
+                    + "'remainingTermMonths': 1, 'monthlyPayment': 1 }")
+    List<Mortgage> findActiveSimulationInputsByUserId(String userId);
+
+    /**
+     * Find detail fields of a mortgage by account number
+     */
+    Optional<MortgageDetailsView> findDetailsByAccountNumber(String accountNumber);
+
+    /**
+     * Find the fields of a user's mortgages needed for statistics
+     */
+    List<MortgageStatisticsView> findStatisticsByUserId(String userId);
 
     /**
      * Find active mortgages with balance above a certain threshold
@@ -40,7 +75,7 @@ public interface MortgageRepository extends MongoRepository<Mortgage, String> {
     List<Mortgage> findByIsActiveTrueAndCurrentBalanceGreaterThan(BigDecimal threshold);
 
     /**
-     * Count active mortgages for a user
+     * Count all active mortgages
      */
-    long countByUserIdAndIsActiveTrue(String userId);
+    long countByIsActiveTrue();
 }
\ No newline at end of file
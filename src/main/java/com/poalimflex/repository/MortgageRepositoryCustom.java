@@ -0,0 +1,37 @@
+package com.poalimflex.repository;
+
+import com.poalimflex.entity.Mortgage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Custom queries on mortgages that cannot be expressed as derived queries
+ */
+public interface MortgageRepositoryCustom {
+    /**
+     * Compute a user's adjustment eligibility in one aggregation over {@code mortgages}
+     * joined with {@code mortgage_adjustments}
+     *
+     * @param userId The unique identifier of the user
+     * @param adjustmentsSince Start of the window in which adjustments are counted
+     * @param maxAdjustmentsPerMortgage Adjustments allowed per mortgage within the window
+     */
+    AdjustmentEligibilityResult evaluateAdjustmentEligibility(
+            String userId, LocalDateTime adjustmentsSince, int maxAdjustmentsPerMortgage);
+
+    /**
+     * Read the next batch of active mortgages in {@code _id} order, with only the fields needed to
+     * re-price the loan
+     *
+     * @param afterId ID of the last mortgage of the previous batch, or null for the first batch
+     * @param batchSize Maximum number of mortgages to return
+     */
+    List<Mortgage> findActiveLoanTermsBatch(String afterId, int batchSize);
+
+    /**
+     * Count active mortgages and total and average their balance, interest rate and remaining term in one
+     * {@code $group}, read through {@code active_balance_idx}
+     */
+    MortgagePortfolioTotals summarizeActiveMortgages();
+}
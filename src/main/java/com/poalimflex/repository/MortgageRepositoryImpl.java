@@ -0,0 +1,154 @@
+package com.poalimflex.repository;
+
+import com.poalimflex.entity.Mortgage;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class MortgageRepositoryImpl implements MortgageRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public AdjustmentEligibilityResult evaluateAdjustmentEligibility(
+            String userId, LocalDateTime adjustmentsSince, int maxAdjustmentsPerMortgage) {
+        Object since = mongoTemplate.getConverter().convertToMongoType(adjustmentsSince);
+
+        // mortgage_id is stored as a plain string while _id may be an ObjectId
+        Document addMortgageKey = new Document("$addFields",
+                new Document("mortgage_key", new Document("$toString", "$_id")));
+
+        // Join only the adjustments inside the window and reduce them to a count on the server
+        Document lookupRecentAdjustments = new Document("$lookup", new Document()
+                .append("from", "mortgage_adjustments")
+                .append("localField", "mortgage_key")
+                .append("foreignField", "mortgage_id")
+                .append("pipeline", List.of(
+                        new Document("$match", new Document("adjustment_date", new Document("$gte", since))),
+                        new Document("$count", "count")))
+                .append("as", "recent_adjustments"));
+
+        // $toDecimal keeps the comparison numeric for documents not yet migrated to Decimal128
+        Document originalAmount = new Document("$toDecimal", "$original_loan_amount");
+        Document isActive = new Document("$eq", List.of("$is_active", true));
+        Document meetsCriteria = new Document("$and", List.of(
+                isActive,
+                new Document("$gt", List.of(originalAmount, 0)),
+                new Document("$gt", List.of(
+                        new Document("$divide", List.of(new Document("$toDecimal", "$current_balance"),
+                                new Document("$cond", List.of(
+                                        new Document("$gt", List.of(originalAmount, 0)),
+                                        originalAmount, 1)))),
+                        0.2)),
+                new Document("$gt", List.of("$remaining_term_months", 12))));
+
+        Document groupDecision = new Document("$group", new Document()
+                .append("_id", null)
+                .append("active_mortgages", new Document("$sum",
+                        new Document("$cond", List.of(isActive, 1, 0))))
+                .append("criteria_met", new Document("$max", meetsCriteria))
+                .append("mortgages", new Document("$push", new Document()
+                        .append("mortgage_id", "$mortgage_key")
+                        .append("recent_adjustments", new Document("$ifNull", List.of(
+                                new Document("$first", "$recent_adjustments.count"), 0))))));
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.stage(new Document("$match", new Document("user_id", userId))),
+                Aggregation.stage(addMortgageKey),
+                Aggregation.stage(lookupRecentAdjustments),
+                Aggregation.stage(groupDecision));
+
+        Document decision = mongoTemplate.aggregate(aggregation, "mortgages", Document.class)
+                .getUniqueMappedResult();
+        if (decision == null) {
+            return AdjustmentEligibilityResult.noMortgages();
+        }
+
+        Map<String, Long> recentAdjustmentCounts = new HashMap<>();
+        boolean tooManyAdjustments = false;
+        for (Document mortgage : decision.getList("mortgages", Document.class)) {
+            long count = ((Number) mortgage.get("recent_adjustments")).longValue();
+            recentAdjustmentCounts.put(mortgage.getString("mortgage_id"), count);
+            if (count >= maxAdjustmentsPerMortgage) {
+                tooManyAdjustments = true;
+            }
+        }
+
+        long activeMortgages = ((Number) decision.get("active_mortgages")).longValue();
+        boolean criteriaMet = Boolean.TRUE.equals(decision.getBoolean("criteria_met"));
+
+        return AdjustmentEligibilityResult.builder()
+                .activeMortgageCount(activeMortgages)
+                .mortgageCriteriaMet(criteriaMet)
+                .recentAdjustmentCounts(recentAdjustmentCounts)
+                .eligible(activeMortgages > 0 && criteriaMet && !tooManyAdjustments)
+                .build();
+    }
+
+    @Override
+    public List<Mortgage> findActiveLoanTermsBatch(String afterId, int batchSize) {
+        Criteria criteria = Criteria.where("isActive").is(true);
+        if (afterId != null) {
+            criteria = criteria.and("id").gt(afterId);
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .limit(batchSize);
+        query.fields().include("userId", "currentBalance", "interestRate", "remainingTermMonths", "monthlyPayment");
+        return mongoTemplate.find(query, Mortgage.class);
+    }
+
+    @Override
+    public MortgagePortfolioTotals summarizeActiveMortgages() {
+        // $toDecimal keeps the arithmetic numeric for documents not yet migrated to Decimal128
+        Document group = new Document("$group", new Document()
+                .append("_id", null)
+                .append("active_mortgages", new Document("$sum", 1))
+                .append("total_balance", new Document("$sum", new Document("$toDecimal", "$current_balance")))
+                .append("average_balance", new Document("$avg", new Document("$toDecimal", "$current_balance")))
+                .append("average_rate", new Document("$avg", new Document("$toDecimal", "$interest_rate")))
+                .append("average_term", new Document("$avg", "$remaining_term_months")));
+
+        // The partial index holds exactly the active mortgages
+        Aggregation aggregation = Aggregation.newAggregation(
+                        Aggregation.stage(new Document("$match", new Document("is_active", true))),
+                        Aggregation.stage(group))
+                .withOptions(AggregationOptions.builder().hint("active_balance_idx").build());
+
+        Document totals = mongoTemplate.aggregate(aggregation, "mortgages", Document.class).getUniqueMappedResult();
+        if (totals == null) {
+            return MortgagePortfolioTotals.builder().activeMortgages(0).totalBalance(BigDecimal.ZERO).build();
+        }
+
+        return MortgagePortfolioTotals.builder()
+                .activeMortgages(((Number) totals.get("active_mortgages")).longValue())
+                .totalBalance(toDecimal(totals.get("total_balance")))
+                .averageBalance(toDecimal(totals.get("average_balance")))
+                .averageInterestRate(toDecimal(totals.get("average_rate")))
+                .averageRemainingTermMonths(totals.get("average_term") instanceof Number n ? n.doubleValue() : null)
+                .build();
+    }
+
+    private static BigDecimal toDecimal(Object value) {
+        if (value instanceof Decimal128 decimal) {
+            return decimal.bigDecimalValue();
+        }
+        if (value instanceof Number number) {
+            return new BigDecimal(number.toString());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.poalimflex.repository;
+
+import com.poalimflex.entity.ReportJob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ReportJobRepository extends MongoRepository<ReportJob, String> {
+    Optional<ReportJob> findByActiveParameters(String activeParameters);
+}
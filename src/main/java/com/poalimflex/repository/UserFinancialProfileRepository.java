@@ -6,16 +6,23 @@ import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserFinancialProfileRepository extends MongoRepository<UserFinancialProfile, String> {
+public interface UserFinancialProfileRepository
+        extends MongoRepository<UserFinancialProfile, String>, UserFinancialProfileRepositoryCustom {
     /**
      * Find financial profile by user ID
      */
     Optional<UserFinancialProfile> findByUserId(String userId);
 
+    /**
+     * Find the financial profiles of several users in one query
+     */
+    List<UserFinancialProfile> findByUserIdIn(Collection<String> userIds);
+
     /**
      * Find profiles with credit score above a threshold
      */
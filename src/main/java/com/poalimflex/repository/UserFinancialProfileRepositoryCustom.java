@@ -0,0 +1,29 @@
+package com.poalimflex.repository;
+
+/**
+ * Custom queries on financial profiles that cannot be expressed as derived queries
+ */
+public interface UserFinancialProfileRepositoryCustom {
+    /**
+     * Stream every financial profile that can be scored, joined with its user's active mortgages, in one
+     * pass over raw cursors. No entities are materialized, so memory use does not grow with the portfolio.
+     *
+     * @param consumer Receives each profile with its outstanding exposure
+     */
+    void forEachProfileExposure(ProfileExposureConsumer consumer);
+
+    /**
+     * One financial profile with the totals of its user's active mortgages
+     */
+    @FunctionalInterface
+    interface ProfileExposureConsumer {
+        /**
+         * @param debtToIncomeRatio Debt-to-income ratio in percent
+         * @param creditScore Credit score
+         * @param outstandingBalance Sum of the active mortgage balances in minor units
+         * @param meetsAdjustmentCriteria Whether any active mortgage meets the adjustment criteria
+         */
+        void accept(double debtToIncomeRatio, int creditScore, long outstandingBalance,
+                    boolean meetsAdjustmentCriteria);
+    }
+}
@@ -0,0 +1,109 @@
+package com.poalimflex.repository;
+
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.poalimflex.service.amortization.AmortizationEngine;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class UserFinancialProfileRepositoryImpl implements UserFinancialProfileRepositoryCustom {
+    private static final int CURSOR_BATCH_SIZE = 5_000;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Sort-merge join: profiles and active mortgages are both read in {@code user_id} order through the
+     * {@code user_id} indexes and advanced in step, so each side is scanned once instead of running one
+     * lookup per profile. User IDs are ASCII, where Mongo's binary order and {@link String#compareTo} agree.
+     */
+    @Override
+    public void forEachProfileExposure(ProfileExposureConsumer consumer) {
+        try (MongoCursor<Document> profiles = openProfiles(); MongoCursor<Document> mortgages = openMortgages()) {
+            Document mortgage = mortgages.hasNext() ? mortgages.next() : null;
+
+            while (profiles.hasNext()) {
+                Document profile = profiles.next();
+                String userId = profile.getString("user_id");
+
+                long outstandingBalance = 0;
+                boolean meetsCriteria = false;
+                if (userId != null) {
+                    while (mortgage != null && precedes(mortgage.getString("user_id"), userId)) {
+                        mortgage = mortgages.hasNext() ? mortgages.next() : null;
+                    }
+                    while (mortgage != null && userId.equals(mortgage.getString("user_id"))) {
+                        outstandingBalance += toMinorUnits(mortgage.get("current_balance"));
+                        meetsCriteria |= Boolean.TRUE.equals(mortgage.getBoolean("meets_criteria"));
+                        mortgage = mortgages.hasNext() ? mortgages.next() : null;
+                    }
+                }
+
+                Object debtToIncomeRatio = profile.get("debt_to_income_ratio");
+                Object creditScore = profile.get("credit_score");
+                if (debtToIncomeRatio != null && creditScore instanceof Number score) {
+                    consumer.accept(toDouble(debtToIncomeRatio), score.intValue(), outstandingBalance, meetsCriteria);
+                }
+            }
+        }
+    }
+
+    private MongoCursor<Document> openProfiles() {
+        return mongoTemplate.getCollection("user_financial_profiles")
+                .find()
+                .projection(Projections.fields(
+                        Projections.include("user_id", "debt_to_income_ratio", "credit_score"),
+                        Projections.excludeId()))
+                .sort(Sorts.ascending("user_id"))
+                .batchSize(CURSOR_BATCH_SIZE)
+                .iterator();
+    }
+
+    private MongoCursor<Document> openMortgages() {
+        // Same mortgage criteria as the adjustment eligibility check, evaluated on the server
+        Document originalAmount = new Document("$toDecimal", "$original_loan_amount");
+        Document balance = new Document("$toDecimal", "$current_balance");
+        Document meetsCriteria = new Document("$and", List.of(
+                new Document("$gt", List.of(originalAmount, 0)),
+                new Document("$gt", List.of(
+                        new Document("$divide", List.of(balance, new Document("$cond", List.of(
+                                new Document("$gt", List.of(originalAmount, 0)), originalAmount, 1)))),
+                        0.2)),
+                new Document("$gt", List.of("$remaining_term_months", 12))));
+
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("is_active", true)),
+                new Document("$sort", new Document("user_id", 1)),
+                new Document("$project", new Document()
+                        .append("_id", 0)
+                        .append("user_id", 1)
+                        .append("current_balance", balance)
+                        .append("meets_criteria", meetsCriteria)));
+
+        return mongoTemplate.getCollection("mortgages")
+                .aggregate(pipeline)
+                .allowDiskUse(true)
+                .batchSize(CURSOR_BATCH_SIZE)
+                .iterator();
+    }
+
+    private static boolean precedes(String mortgageUserId, String userId) {
+        return mortgageUserId == null || mortgageUserId.compareTo(userId) < 0;
+    }
+
+    private static long toMinorUnits(Object amount) {
+        if (amount instanceof Decimal128 decimal) {
+            return AmortizationEngine.toMinorUnits(decimal.bigDecimalValue());
+        }
+        return amount instanceof Number number ? Math.round(number.doubleValue() * 100) : 0;
+    }
+
+    private static double toDouble(Object value) {
+        return value instanceof Decimal128 decimal ? decimal.doubleValue() : ((Number) value).doubleValue();
+    }
+}
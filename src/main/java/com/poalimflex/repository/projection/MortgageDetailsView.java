@@ -0,0 +1,35 @@
+package com.poalimflex.repository.projection;
+
+import com.poalimflex.entity.Mortgage;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Closed projection of the mortgage fields shown on the details endpoint
+ */
+public interface MortgageDetailsView {
+    String getAccountNumber();
+
+    String getUserId();
+
+    BigDecimal getOriginalLoanAmount();
+
+    BigDecimal getCurrentBalance();
+
+    BigDecimal getInterestRate();
+
+    LocalDate getLoanStartDate();
+
+    Integer getOriginalLoanTermMonths();
+
+    Integer getRemainingTermMonths();
+
+    BigDecimal getMonthlyPayment();
+
+    Mortgage.MortgageType getMortgageType();
+
+    LocalDate getNextPaymentDate();
+
+    Boolean getIsActive();
+}
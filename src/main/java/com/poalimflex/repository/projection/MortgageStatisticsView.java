@@ -0,0 +1,18 @@
+package com.poalimflex.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Closed projection of the mortgage fields aggregated into user statistics
+ */
+public interface MortgageStatisticsView {
+    BigDecimal getOriginalLoanAmount();
+
+    BigDecimal getCurrentBalance();
+
+    BigDecimal getInterestRate();
+
+    BigDecimal getMonthlyPayment();
+
+    Boolean getIsActive();
+}
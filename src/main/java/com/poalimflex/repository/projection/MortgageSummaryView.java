@@ -0,0 +1,25 @@
+package com.poalimflex.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Closed projection of the mortgage fields shown in summaries and payment schedules
+ */
+public interface MortgageSummaryView {
+    String getAccountNumber();
+
+    BigDecimal getOriginalLoanAmount();
+
+    BigDecimal getCurrentBalance();
+
+    BigDecimal getMonthlyPayment();
+
+    BigDecimal getInterestRate();
+
+    Integer getRemainingTermMonths();
+
+    LocalDate getNextPaymentDate();
+
+    Boolean getIsActive();
+}
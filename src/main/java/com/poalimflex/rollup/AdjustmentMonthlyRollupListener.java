@@ -0,0 +1,97 @@
+package com.poalimflex.rollup;
+
+import com.poalimflex.entity.MortgageAdjustment;
+import com.poalimflex.rollup.AdjustmentMonthlyRollupUpdater.Contribution;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps {@code adjustment_monthly_rollups} in step with adjustment saves and deletes. Before an existing
+ * adjustment is overwritten its stored contribution is read, so a status change moves one count between
+ * statuses and an edited date moves the adjustment between months. Inserts replace nothing and skip that
+ * read. As in the cache invalidation listeners, the contribution of a delete is resolved before the
+ * document is removed.
+ *
+ * <p>Adjustments are versioned, and an update only succeeds while the stored document still has the version
+ * it was loaded with. The previous contribution is read at exactly that version, so two concurrent saves of
+ * one adjustment cannot both subtract the same contribution: the stale one fails with an optimistic locking
+ * error and never reaches {@link #onAfterSave}.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AdjustmentMonthlyRollupListener extends AbstractMongoEventListener<MortgageAdjustment> {
+    private final AdjustmentMonthlyRollupUpdater rollupUpdater;
+    private final MongoTemplate mongoTemplate;
+
+    private final Map<PendingSave, Contribution> pendingSaves = new ConcurrentHashMap<>();
+    private final Map<Document, Contribution> pendingDeletes = new ConcurrentHashMap<>();
+
+    @Override
+    public void onBeforeSave(BeforeSaveEvent<MortgageAdjustment> event) {
+        MortgageAdjustment adjustment = event.getSource();
+        // Inserts are written with version 0; updates carry the incremented version
+        if (adjustment.getId() == null || adjustment.getVersion() == null || adjustment.getVersion() == 0) {
+            return;
+        }
+
+        Contribution previous = findContribution(new Query(Criteria.where("id").is(adjustment.getId())
+                .and("version").is(adjustment.getVersion() - 1)));
+        if (previous != null) {
+            pendingSaves.put(new PendingSave(adjustment.getId(), adjustment.getVersion()), previous);
+        }
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<MortgageAdjustment> event) {
+        MortgageAdjustment adjustment = event.getSource();
+        Contribution previous = null;
+        if (adjustment.getId() != null && adjustment.getVersion() != null) {
+            previous = pendingSaves.remove(new PendingSave(adjustment.getId(), adjustment.getVersion()));
+            // Saves that lost the optimistic lock never complete; drop what they left behind
+            pendingSaves.keySet().removeIf(save -> save.id().equals(adjustment.getId())
+                    && save.version() < adjustment.getVersion());
+        }
+        rollupUpdater.apply(previous, Contribution.of(adjustment));
+    }
+
+    @Override
+    public void onBeforeDelete(BeforeDeleteEvent<MortgageAdjustment> event) {
+        Contribution contribution = findContribution(new BasicQuery(event.getDocument()));
+        if (contribution != null) {
+            pendingDeletes.put(event.getDocument(), contribution);
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<MortgageAdjustment> event) {
+        Contribution contribution = pendingDeletes.remove(event.getDocument());
+        if (contribution != null) {
+            log.debug("Removing deleted adjustment from the {} rollup", contribution.month());
+            rollupUpdater.apply(contribution, null);
+        }
+    }
+
+    private record PendingSave(String id, long version) {
+    }
+
+    private Contribution findContribution(Query query) {
+        query.fields().include("adjustmentDate", "originalMonthlyPayment", "reducedPayment", "status",
+                "financialPressureType");
+        return Contribution.of(mongoTemplate.findOne(query, MortgageAdjustment.class));
+    }
+}
@@ -0,0 +1,319 @@
+package com.poalimflex.rollup;
+
+import com.poalimflex.entity.AdjustmentMonthlyRollup;
+import com.poalimflex.entity.MortgageAdjustment;
+import com.poalimflex.entity.MortgageAdjustment.AdjustmentStatus;
+import com.poalimflex.entity.MortgageAdjustment.FinancialPressureType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Applies adjustment writes to {@code adjustment_monthly_rollups}. Every change is one upsert per affected
+ * month that {@code $inc}s the counters by the difference between the adjustment's old and new contribution,
+ * so concurrent writers never overwrite each other's totals.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AdjustmentMonthlyRollupUpdater {
+    static final String COLLECTION = "adjustment_monthly_rollups";
+    private static final String ADJUSTMENTS = "mortgage_adjustments";
+
+    /**
+     * Times a month is recomputed when it keeps changing between the read and the correction
+     */
+    private static final int MAX_MONTH_ATTEMPTS = 5;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * What a single adjustment adds to the rollup of its month
+     */
+    public record Contribution(String month, BigDecimal reduction, String status, String pressureType) {
+        /**
+         * Contribution of an adjustment, or null if it has no adjustment date
+         */
+        public static Contribution of(MortgageAdjustment adjustment) {
+            if (adjustment == null || adjustment.getAdjustmentDate() == null) {
+                return null;
+            }
+
+            BigDecimal reduction = adjustment.getOriginalMonthlyPayment() != null && adjustment.getReducedPayment() != null
+                    ? adjustment.getOriginalMonthlyPayment().subtract(adjustment.getReducedPayment())
+                    : BigDecimal.ZERO;
+            return new Contribution(
+                    YearMonth.from(adjustment.getAdjustmentDate()).toString(),
+                    reduction,
+                    adjustment.getStatus() != null ? adjustment.getStatus().name() : null,
+                    adjustment.getFinancialPressureType() != null ? adjustment.getFinancialPressureType().name() : null);
+        }
+    }
+
+    /**
+     * Replace {@code removed} by {@code added} in the rollups; either may be null
+     */
+    public void apply(Contribution removed, Contribution added) {
+        Map<String, Map<String, BigDecimal>> incrementsByMonth = new LinkedHashMap<>();
+        addIncrements(incrementsByMonth, removed, -1);
+        addIncrements(incrementsByMonth, added, 1);
+
+        incrementsByMonth.forEach((month, increments) -> {
+            Update update = new Update().currentDate("lastUpdated");
+            boolean changed = false;
+            for (Map.Entry<String, BigDecimal> increment : increments.entrySet()) {
+                if (increment.getValue().signum() == 0) {
+                    continue;
+                }
+                changed = true;
+                // Counters stay integral; only the reduction amount is a decimal
+                update.inc(increment.getKey(), "reductionAmount".equals(increment.getKey())
+                        ? increment.getValue()
+                        : increment.getValue().longValueExact());
+            }
+
+            if (changed) {
+                mongoTemplate.upsert(new Query(Criteria.where("month").is(month)), update, AdjustmentMonthlyRollup.class);
+            }
+        });
+    }
+
+    private static void addIncrements(
+            Map<String, Map<String, BigDecimal>> incrementsByMonth, Contribution contribution, int sign) {
+        if (contribution == null) {
+            return;
+        }
+
+        Map<String, BigDecimal> increments = incrementsByMonth.computeIfAbsent(
+                contribution.month(), month -> new LinkedHashMap<>());
+        BigDecimal one = BigDecimal.valueOf(sign);
+        increments.merge("requestCount", one, BigDecimal::add);
+        increments.merge("reductionAmount", contribution.reduction().multiply(one), BigDecimal::add);
+        if (contribution.status() != null) {
+            increments.merge("status_counts." + contribution.status(), one, BigDecimal::add);
+        }
+        if (contribution.pressureType() != null) {
+            increments.merge("pressure_type_counts." + contribution.pressureType(), one, BigDecimal::add);
+        }
+    }
+
+    /**
+     * Recompute every month from {@code mortgage_adjustments} while the listener keeps applying increments.
+     * Each month is corrected by the difference between its recomputed and stored totals, conditioned on
+     * the stored document being unchanged since it was read; a month that moved in between, from a
+     * concurrent increment or another rebuild, is read and recomputed again. Adjustments created after the
+     * stored month was read are left out of the recomputation, as their increment lands after that read.
+     *
+     * @return Number of months that have adjustments
+     */
+    public long rebuild() {
+        Set<String> months = new TreeSet<>();
+        mongoTemplate.getCollection(COLLECTION).distinct("_id", String.class).into(months);
+        mongoTemplate.getCollection(ADJUSTMENTS)
+                .aggregate(List.of(
+                        new Document("$match", new Document("adjustment_date", new Document("$ne", null))),
+                        new Document("$group", new Document("_id", monthOf("$adjustment_date")))))
+                .allowDiskUse(true)
+                .map(group -> group.getString("_id"))
+                .into(months);
+
+        long rebuilt = 0;
+        long corrected = 0;
+        for (String month : months) {
+            MonthRebuild result = rebuildMonth(month);
+            if (result.hasAdjustments()) {
+                rebuilt++;
+            }
+            if (result.corrected()) {
+                corrected++;
+            }
+        }
+
+        log.info("Rebuilt {} adjustment monthly rollups, corrected {}", rebuilt, corrected);
+        return rebuilt;
+    }
+
+    private MonthRebuild rebuildMonth(String month) {
+        ZoneId zone = ZoneId.systemDefault();
+        YearMonth yearMonth = YearMonth.parse(month);
+        Date from = Date.from(yearMonth.atDay(1).atStartOfDay(zone).toInstant());
+        Date to = Date.from(yearMonth.plusMonths(1).atDay(1).atStartOfDay(zone).toInstant());
+
+        for (int attempt = 1; attempt <= MAX_MONTH_ATTEMPTS; attempt++) {
+            Document stored = mongoTemplate.getCollection(COLLECTION).find(new Document("_id", month)).first();
+            Date cutoff = new Date();
+            Map<String, BigDecimal> totals = recompute(from, cutoff.before(to) ? cutoff : to);
+
+            if (stored == null) {
+                if (totals.isEmpty()) {
+                    return new MonthRebuild(false, false);
+                }
+                try {
+                    mongoTemplate.insert(toRollup(month, totals), COLLECTION);
+                    return new MonthRebuild(true, true);
+                } catch (DuplicateKeyException e) {
+                    // The listener created the month meanwhile
+                    continue;
+                }
+            }
+
+            if (totals.isEmpty()) {
+                // The filter is the whole stored document, so only an unchanged month is removed
+                if (mongoTemplate.getCollection(COLLECTION).deleteOne(stored).getDeletedCount() == 1) {
+                    return new MonthRebuild(false, true);
+                }
+                continue;
+            }
+
+            Document increments = differences(totals, storedTotals(stored));
+            if (increments.isEmpty()) {
+                return new MonthRebuild(true, false);
+            }
+            Document update = new Document("$inc", increments)
+                    .append("$currentDate", new Document("last_updated", true));
+            if (mongoTemplate.getCollection(COLLECTION).updateOne(stored, update).getMatchedCount() == 1) {
+                return new MonthRebuild(true, true);
+            }
+        }
+
+        throw new IllegalStateException("Adjustment rollup " + month + " kept changing during the rebuild");
+    }
+
+    /**
+     * Totals of the adjustments dated in {@code [from, to)}, keyed by rollup field path; empty if there are none
+     */
+    private Map<String, BigDecimal> recompute(Date from, Date to) {
+        Document reduction = new Document("$subtract", List.of(
+                new Document("$ifNull", List.of(new Document("$toDecimal", "$original_monthly_payment"), 0)),
+                new Document("$ifNull", List.of(new Document("$toDecimal", "$reduced_payment"), 0))));
+
+        Document group = new Document()
+                .append("_id", null)
+                .append("request_count", new Document("$sum", 1L))
+                .append("reduction_amount", new Document("$sum", reduction));
+        for (AdjustmentStatus status : AdjustmentStatus.values()) {
+            group.append("status_" + status.name(), countWhere("$status", status.name()));
+        }
+        for (FinancialPressureType pressureType : FinancialPressureType.values()) {
+            group.append("pressure_" + pressureType.name(), countWhere("$financial_pressure_type", pressureType.name()));
+        }
+
+        Document result = mongoTemplate.getCollection(ADJUSTMENTS)
+                .aggregate(List.of(
+                        new Document("$match", new Document("adjustment_date",
+                                new Document("$gte", from).append("$lt", to))),
+                        new Document("$group", group)))
+                .first();
+
+        Map<String, BigDecimal> totals = new LinkedHashMap<>();
+        if (result == null) {
+            return totals;
+        }
+        totals.put("request_count", toBigDecimal(result.get("request_count")));
+        totals.put("reduction_amount", toBigDecimal(result.get("reduction_amount")));
+        for (AdjustmentStatus status : AdjustmentStatus.values()) {
+            totals.put("status_counts." + status.name(), toBigDecimal(result.get("status_" + status.name())));
+        }
+        for (FinancialPressureType pressureType : FinancialPressureType.values()) {
+            totals.put("pressure_type_counts." + pressureType.name(),
+                    toBigDecimal(result.get("pressure_" + pressureType.name())));
+        }
+        return totals;
+    }
+
+    private static Map<String, BigDecimal> storedTotals(Document stored) {
+        Map<String, BigDecimal> totals = new LinkedHashMap<>();
+        totals.put("request_count", toBigDecimal(stored.get("request_count")));
+        totals.put("reduction_amount", toBigDecimal(stored.get("reduction_amount")));
+        for (String counts : List.of("status_counts", "pressure_type_counts")) {
+            Document values = stored.get(counts, Document.class);
+            if (values != null) {
+                values.forEach((key, value) -> totals.put(counts + "." + key, toBigDecimal(value)));
+            }
+        }
+        return totals;
+    }
+
+    private static Document differences(Map<String, BigDecimal> totals, Map<String, BigDecimal> stored) {
+        Set<String> fields = new LinkedHashSet<>(totals.keySet());
+        fields.addAll(stored.keySet());
+
+        Document increments = new Document();
+        for (String field : fields) {
+            BigDecimal difference = totals.getOrDefault(field, BigDecimal.ZERO)
+                    .subtract(stored.getOrDefault(field, BigDecimal.ZERO));
+            if (difference.signum() != 0) {
+                increments.append(field, toIncrement(field, difference));
+            }
+        }
+        return increments;
+    }
+
+    private static Document toRollup(String month, Map<String, BigDecimal> totals) {
+        Document rollup = new Document("_id", month);
+        Document statusCounts = new Document();
+        Document pressureTypeCounts = new Document();
+        totals.forEach((field, value) -> {
+            Object amount = toIncrement(field, value);
+            if (field.startsWith("status_counts.")) {
+                statusCounts.append(field.substring("status_counts.".length()), amount);
+            } else if (field.startsWith("pressure_type_counts.")) {
+                pressureTypeCounts.append(field.substring("pressure_type_counts.".length()), amount);
+            } else {
+                rollup.append(field, amount);
+            }
+        });
+        return rollup
+                .append("status_counts", statusCounts)
+                .append("pressure_type_counts", pressureTypeCounts)
+                .append("last_updated", new Date());
+    }
+
+    /**
+     * Counters stay integral; only the reduction amount is a decimal
+     */
+    private static Object toIncrement(String field, BigDecimal value) {
+        return "reduction_amount".equals(field) ? new Decimal128(value) : value.longValueExact();
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        if (value instanceof Decimal128 decimal) {
+            return decimal.bigDecimalValue();
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    /**
+     * Month of a date as {@code yyyy-MM}. LocalDateTime is stored as the instant of the local time in the
+     * JVM zone, so the month is taken in the same zone.
+     */
+    private static Document monthOf(String field) {
+        return new Document("$dateToString", new Document()
+                .append("format", "%Y-%m")
+                .append("date", field)
+                .append("timezone", ZoneId.systemDefault().getId()));
+    }
+
+    private record MonthRebuild(boolean hasAdjustments, boolean corrected) {
+    }
+
+    private static Document countWhere(String field, String value) {
+        return new Document("$sum", new Document("$cond", List.of(
+                new Document("$eq", List.of(field, value)), 1L, 0L)));
+    }
+}
@@ -0,0 +1,65 @@
+package com.poalimflex.service;
+
+import com.poalimflex.entity.Mortgage;
+import com.poalimflex.entity.UserFinancialProfile;
+import com.poalimflex.repository.AdjustmentEligibilityResult;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Request-scoped snapshot of everything an adjustment evaluation needs about a user.
+ * Loaded once per request by {@link AdjustmentEvaluationContextLoader} and passed through
+ * the eligibility, scoring and pricing steps so they do not query MongoDB again.
+ */
+@Getter
+@Builder
+public class AdjustmentEvaluationContext {
+    private final String userId;
+
+    private final List<Mortgage> mortgages;
+
+    private final AdjustmentEligibilityResult eligibility;
+
+    private final UserFinancialProfile financialProfile;
+
+    @Builder.Default
+    private final AtomicInteger mongoLookups = new AtomicInteger();
+
+    public boolean isEligible() {
+        return eligibility.isEligible();
+    }
+
+    public Optional<Mortgage> findMortgageByAccountNumber(String accountNumber) {
+        return mortgages.stream()
+                .filter(m -> m.getAccountNumber().equals(accountNumber))
+                .findFirst();
+    }
+
+    public Optional<Mortgage> findFirstActiveMortgage() {
+        return mortgages.stream()
+                .filter(m -> Boolean.TRUE.equals(m.getIsActive()))
+                .findFirst();
+    }
+
+    public UserFinancialProfile requireFinancialProfile() {
+        if (financialProfile == null) {
+            throw new RuntimeException("User financial profile not found");
+        }
+        return financialProfile;
+    }
+
+    /**
+     * Record a MongoDB round trip made on behalf of this request
+     */
+    public void recordLookup() {
+        mongoLookups.incrementAndGet();
+    }
+
+    public int getMongoLookupCount() {
+        return mongoLookups.get();
+    }
+}
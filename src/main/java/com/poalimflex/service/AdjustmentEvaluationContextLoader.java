@@ -0,0 +1,81 @@
+package com.poalimflex.service;
+
+import com.poalimflex.cache.EligibilityCache;
+import com.poalimflex.entity.Mortgage;
+import com.poalimflex.entity.UserFinancialProfile;
+import com.poalimflex.repository.AdjustmentEligibilityResult;
+import com.poalimflex.repository.MortgageRepository;
+import com.poalimflex.repository.UserFinancialProfileRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds an {@link AdjustmentEvaluationContext} with the minimum number of MongoDB round trips.
+ * The mortgages, the eligibility aggregation and the financial profile lookup are independent,
+ * so they run in parallel on the lookup executor.
+ */
+@Component
+@Slf4j
+public class AdjustmentEvaluationContextLoader {
+    private final MortgageRepository mortgageRepository;
+    private final UserFinancialProfileRepository userFinancialProfileRepository;
+    private final EligibilityCache eligibilityCache;
+    private final ThreadPoolTaskExecutor lookupExecutor;
+
+    public AdjustmentEvaluationContextLoader(
+            MortgageRepository mortgageRepository,
+            UserFinancialProfileRepository userFinancialProfileRepository,
+            EligibilityCache eligibilityCache,
+            @Qualifier("mongoLookupExecutor") ThreadPoolTaskExecutor lookupExecutor) {
+        this.mortgageRepository = mortgageRepository;
+        this.userFinancialProfileRepository = userFinancialProfileRepository;
+        this.eligibilityCache = eligibilityCache;
+        this.lookupExecutor = lookupExecutor;
+    }
+
+    /**
+     * Load mortgages, the eligibility decision and the financial profile for a user
+     */
+    public AdjustmentEvaluationContext load(String userId) {
+        AtomicInteger lookups = new AtomicInteger();
+
+        CompletableFuture<List<Mortgage>> mortgagesFuture = CompletableFuture.supplyAsync(() -> {
+            lookups.incrementAndGet();
+            return mortgageRepository.findByUserId(userId);
+        }, lookupExecutor);
+
+        CompletableFuture<AdjustmentEligibilityResult> eligibilityFuture = CompletableFuture.supplyAsync(
+                () -> eligibilityCache.get(userId, lookups::incrementAndGet), lookupExecutor);
+
+        CompletableFuture<UserFinancialProfile> profileFuture = CompletableFuture.supplyAsync(() -> {
+            lookups.incrementAndGet();
+            return userFinancialProfileRepository.findByUserId(userId).orElse(null);
+        }, lookupExecutor);
+
+        try {
+            CompletableFuture.allOf(mortgagesFuture, eligibilityFuture, profileFuture).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        log.debug("Loaded adjustment evaluation context for user {} in {} lookups", userId, lookups.get());
+
+        return AdjustmentEvaluationContext.builder()
+                .userId(userId)
+                .mortgages(mortgagesFuture.join())
+                .eligibility(eligibilityFuture.join())
+                .financialProfile(profileFuture.join())
+                .mongoLookups(lookups)
+                .build();
+    }
+}
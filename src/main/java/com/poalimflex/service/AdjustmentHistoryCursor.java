@@ -0,0 +1,45 @@
+package com.poalimflex.service;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the adjustment history, ordered by adjustment date and ID (both descending).
+ * Clients only ever see the opaque token form produced by {@link #encode()}.
+ */
+@Value
+public class AdjustmentHistoryCursor {
+    private static final String SEPARATOR = "|";
+
+    LocalDateTime adjustmentDate;
+    String adjustmentId;
+
+    public String encode() {
+        String raw = adjustmentDate + SEPARATOR + adjustmentId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parse a continuation token
+     *
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static AdjustmentHistoryCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("Malformed history cursor");
+            }
+            return new AdjustmentHistoryCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    raw.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed history cursor", e);
+        }
+    }
+}
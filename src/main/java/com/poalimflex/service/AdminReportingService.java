@@ -0,0 +1,87 @@
+package com.poalimflex.service;
+
+import com.poalimflex.dto.MortgagePerformanceReportDto;
+import com.poalimflex.dto.financial.FinancialRiskReportDto;
+import com.poalimflex.dto.mortage.adjustment.AdjustmentSummaryReportDto;
+import com.poalimflex.dto.mortage.adjustment.AdjustmentTrendsReportDto;
+import com.poalimflex.dto.user.ProfileQuantilesDto;
+import com.poalimflex.dto.user.UserDemographicsReportDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Interface for administrative reports computed from stored data
+ */
+public interface AdminReportingService {
+    /**
+     * Summarize mortgage adjustments made in a date range
+     *
+     * @param fromDate Optional inclusive start date
+     * @param toDate Optional inclusive end date
+     * @return Adjustment summary report
+     */
+    AdjustmentSummaryReportDto getAdjustmentSummary(LocalDate fromDate, LocalDate toDate);
+
+    /**
+     * Same summary as {@link #getAdjustmentSummary(LocalDate, LocalDate)}, aggregated one calendar year at a
+     * time so that long ranges can report progress
+     *
+     * @param fromDate Optional inclusive start date
+     * @param toDate Optional inclusive end date
+     * @param progress Told about every aggregated year
+     * @return Adjustment summary report
+     */
+    AdjustmentSummaryReportDto getAdjustmentSummary(LocalDate fromDate, LocalDate toDate, ReportProgress progress);
+
+    /**
+     * Balance, rate and term figures of the active mortgages, from one aggregation, and adjustment
+     * utilization over the last twelve months, from the distinct counters. Loan-to-value and delinquency
+     * are left empty: mortgages record neither the property value nor payment history.
+     *
+     * @return Mortgage performance report
+     */
+    MortgagePerformanceReportDto getMortgagePerformance();
+
+    /**
+     * User demographics, served from the incrementally maintained profile distribution
+     *
+     * @return User demographics report
+     */
+    UserDemographicsReportDto getUserDemographics();
+
+    /**
+     * Arbitrary quantiles of a financial profile value, served from its quantile sketch
+     *
+     * @param metric Profile value
+     * @param quantiles Quantiles between 0 and 1
+     * @return Value at each quantile
+     * @throws IllegalArgumentException if a quantile is outside [0, 1]
+     */
+    ProfileQuantilesDto getProfileQuantiles(ProfileQuantilesDto.ProfileMetric metric, List<Double> quantiles);
+
+    /**
+     * Portfolio-wide payment difficulty of every scorable financial profile, with the outstanding balance
+     * of each user's active mortgages, computed in one streaming pass
+     *
+     * @return Financial risk report
+     */
+    FinancialRiskReportDto getFinancialRiskReport();
+
+    /**
+     * Monthly adjustment trends, read from the monthly rollups. Months are counted whole, so a range
+     * covers every month it touches.
+     *
+     * @param fromDate Optional inclusive start date, six months ago by default
+     * @param toDate Optional inclusive end date, today by default
+     * @return Adjustment trends report
+     */
+    AdjustmentTrendsReportDto getAdjustmentTrends(LocalDate fromDate, LocalDate toDate);
+
+    /**
+     * Recompute the monthly adjustment rollups from all stored adjustments
+     *
+     * @return Number of months rebuilt
+     */
+    long rebuildAdjustmentRollups();
+}
@@ -0,0 +1,338 @@
+package com.poalimflex.service;
+
+import com.poalimflex.dto.MortgagePerformanceReportDto;
+import com.poalimflex.dto.RiskBandDto;
+import com.poalimflex.dto.financial.FinancialRiskReportDto;
+import com.poalimflex.dto.mortage.adjustment.AdjustmentSummaryReportDto;
+import com.poalimflex.dto.mortage.adjustment.AdjustmentTrendsReportDto;
+import com.poalimflex.dto.mortage.adjustment.MortgageAdjustmentRequestDto;
+import com.poalimflex.dto.user.ProfileQuantilesDto;
+import com.poalimflex.dto.user.UserDemographicsReportDto;
+import com.poalimflex.entity.AdjustmentMonthlyRollup;
+import com.poalimflex.entity.MortgageAdjustment.AdjustmentStatus;
+import com.poalimflex.repository.AdjustmentMonthlyRollupRepository;
+import com.poalimflex.repository.AdjustmentSummaryResult;
+import com.poalimflex.repository.MortgageAdjustmentRepository;
+import com.poalimflex.repository.MortgagePortfolioTotals;
+import com.poalimflex.repository.MortgageRepository;
+import com.poalimflex.repository.UserFinancialProfileRepository;
+import com.poalimflex.repository.UserRepository;
+import com.poalimflex.rollup.AdjustmentMonthlyRollupUpdater;
+import com.poalimflex.service.amortization.AmortizationEngine;
+import com.poalimflex.sketch.DistinctCounterStore;
+import com.poalimflex.sketch.DistinctCounterStore.Counter;
+import com.poalimflex.sketch.ProfileDistribution;
+import com.poalimflex.sketch.ProfileDistributionStore;
+import com.poalimflex.sketch.QuantileSketch;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AdminReportingServiceImpl implements AdminReportingService {
+    private final MortgageAdjustmentRepository mortgageAdjustmentRepository;
+    private final AdjustmentMonthlyRollupRepository adjustmentMonthlyRollupRepository;
+    private final AdjustmentMonthlyRollupUpdater adjustmentMonthlyRollupUpdater;
+    private final UserFinancialProfileRepository userFinancialProfileRepository;
+    private final AiFinancialAnalysisService aiFinancialAnalysisService;
+    private final UserRepository userRepository;
+    private final ProfileDistributionStore profileDistributionStore;
+    private final DistinctCounterStore distinctCounterStore;
+    private final MortgageRepository mortgageRepository;
+
+    @Override
+    public AdjustmentSummaryReportDto getAdjustmentSummary(LocalDate fromDate, LocalDate toDate) {
+        return toSummaryReport(mortgageAdjustmentRepository.summarizeAdjustments(
+                fromDate != null ? fromDate.atStartOfDay() : null,
+                toDate != null ? toDate.plusDays(1).atStartOfDay() : null));
+    }
+
+    /**
+     * Open bounds stay open in the first and last year, so the result matches the single aggregation
+     */
+    @Override
+    public AdjustmentSummaryReportDto getAdjustmentSummary(
+            LocalDate fromDate, LocalDate toDate, ReportProgress progress) {
+        LocalDate start = fromDate != null
+                ? fromDate
+                : mortgageAdjustmentRepository.findFirstByAdjustmentDateNotNullOrderByAdjustmentDateAsc()
+                        .map(adjustment -> adjustment.getAdjustmentDate().toLocalDate())
+                        .orElse(LocalDate.now());
+        LocalDate end = toDate != null ? toDate : LocalDate.now();
+        int years = Math.max(1, end.getYear() - start.getYear() + 1);
+        progress.update(0, years);
+
+        AdjustmentSummaryResult summary = null;
+        for (int year = 0; year < years; year++) {
+            LocalDate yearStart = year == 0 ? fromDate : LocalDate.of(start.getYear() + year, 1, 1);
+            LocalDate nextYear = year == years - 1
+                    ? (toDate != null ? toDate.plusDays(1) : null)
+                    : LocalDate.of(start.getYear() + year + 1, 1, 1);
+
+            AdjustmentSummaryResult yearSummary = mortgageAdjustmentRepository.summarizeAdjustments(
+                    yearStart != null ? yearStart.atStartOfDay() : null,
+                    nextYear != null ? nextYear.atStartOfDay() : null);
+            summary = summary != null ? summary.merge(yearSummary) : yearSummary;
+            progress.update(year + 1, years);
+        }
+        return toSummaryReport(summary);
+    }
+
+    private AdjustmentSummaryReportDto toSummaryReport(AdjustmentSummaryResult summary) {
+        return AdjustmentSummaryReportDto.builder()
+                .reportDate(LocalDate.now())
+                .totalAdjustmentRequests(Math.toIntExact(summary.getTotalAdjustments()))
+                .approvedAdjustments(countOf(summary, AdjustmentStatus.APPROVED))
+                .partiallyApprovedAdjustments(countOf(summary, AdjustmentStatus.PARTIALLY_APPROVED))
+                .rejectedAdjustments(countOf(summary, AdjustmentStatus.REJECTED))
+                .totalReductionAmount(toAmount(summary.getTotalReductionAmount()))
+                .averageReductionAmount(toAmount(summary.getAverageReductionAmount()))
+                .totalAdditionalInterest(toAmount(summary.getTotalAdditionalInterest()))
+                .mostCommonPressureType(summary.getMostCommonPressureType() != null
+                        ? MortgageAdjustmentRequestDto.FinancialPressureType.valueOf(
+                                summary.getMostCommonPressureType().name())
+                        : null)
+                .averageRiskScore(summary.getAverageRiskScore())
+                .build();
+    }
+
+    @Override
+    public MortgagePerformanceReportDto getMortgagePerformance() {
+        LocalDate today = LocalDate.now();
+        MortgagePortfolioTotals totals = mortgageRepository.summarizeActiveMortgages();
+        long activeMortgages = totals.getActiveMortgages();
+        long adjustedMortgages = distinctCounterStore.count(
+                Counter.ADJUSTED_MORTGAGES, today.minusYears(1).plusDays(1), today);
+
+        return MortgagePerformanceReportDto.builder()
+                .reportDate(today)
+                .totalActiveMortgages(Math.toIntExact(activeMortgages))
+                .totalMortgageValue(toAmount(totals.getTotalBalance()))
+                .averageMortgageAmount(totals.getAverageBalance() != null
+                        ? toAmount(totals.getAverageBalance())
+                        : null)
+                .averageInterestRate(totals.getAverageInterestRate() != null
+                        ? toAmount(totals.getAverageInterestRate())
+                        : null)
+                .averageRemainingTerm(totals.getAverageRemainingTermMonths() != null
+                        ? (int) Math.round(totals.getAverageRemainingTermMonths())
+                        : null)
+                .mortgagesWithAdjustments(Math.toIntExact(adjustedMortgages))
+                .adjustmentUtilizationRate(percentage(Math.min(adjustedMortgages, activeMortgages), activeMortgages))
+                .build();
+    }
+
+    /**
+     * Active users are the distinct users who authenticated in the last 30 days. Users have no birth date,
+     * so there is no age distribution.
+     */
+    @Override
+    public UserDemographicsReportDto getUserDemographics() {
+        ProfileDistribution distribution = profileDistributionStore.snapshot();
+        QuantileSketch income = distribution.annualIncome();
+        QuantileSketch creditScore = distribution.creditScore();
+
+        Map<String, Integer> employmentStatusDistribution = new LinkedHashMap<>();
+        distribution.employmentStatusCounts().forEach(
+                (status, count) -> employmentStatusDistribution.put(status.name(), Math.toIntExact(count)));
+
+        return UserDemographicsReportDto.builder()
+                .reportDate(LocalDate.now())
+                .totalUsers(Math.toIntExact(userRepository.count()))
+                .activeUsers(Math.toIntExact(distinctCounterStore.count(
+                        Counter.ACTIVE_USERS, LocalDate.now().minusDays(29), LocalDate.now())))
+                .employmentStatusDistribution(employmentStatusDistribution)
+                .incomeDistribution(toIntegerCounts(distribution.annualIncomeBins().counts()))
+                .creditScoreDistribution(toIntegerCounts(distribution.creditScoreBins().counts()))
+                .averageAnnualIncome(income.count() > 0
+                        ? AmortizationEngine.fromMinorUnits(
+                                AmortizationEngine.divideHalfUp(distribution.annualIncomeTotal(), income.count()))
+                        : null)
+                .averageCreditScore(creditScore.count() > 0
+                        ? Math.toIntExact(Math.round((double) distribution.creditScoreTotal() / creditScore.count()))
+                        : null)
+                .medianAnnualIncome(toAmount(income.quantile(0.5)))
+                .medianCreditScore(creditScore.count() > 0 ? (int) Math.round(creditScore.quantile(0.5)) : null)
+                .p90DebtToIncomeRatio(toAmount(distribution.debtToIncomeRatio().quantile(0.9)))
+                .build();
+    }
+
+    @Override
+    public ProfileQuantilesDto getProfileQuantiles(ProfileQuantilesDto.ProfileMetric metric, List<Double> quantiles) {
+        ProfileDistribution distribution = profileDistributionStore.snapshot();
+        QuantileSketch sketch = switch (metric) {
+            case ANNUAL_INCOME -> distribution.annualIncome();
+            case CREDIT_SCORE -> distribution.creditScore();
+            case DEBT_TO_INCOME_RATIO -> distribution.debtToIncomeRatio();
+        };
+
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (double quantile : quantiles) {
+            double value = sketch.quantile(quantile);
+            values.put("p" + BigDecimal.valueOf(quantile * 100).stripTrailingZeros().toPlainString(),
+                    Double.isNaN(value) ? null : value);
+        }
+
+        return ProfileQuantilesDto.builder()
+                .metric(metric)
+                .profileCount(sketch.count())
+                .relativeAccuracy(sketch.relativeAccuracy())
+                .quantiles(values)
+                .build();
+    }
+
+    /**
+     * The high risk percentage counts the high and very high bands; the estimated default rate is the share
+     * of users in the very high band.
+     */
+    @Override
+    public FinancialRiskReportDto getFinancialRiskReport() {
+        RiskTotals totals = new RiskTotals(aiFinancialAnalysisService);
+        userFinancialProfileRepository.forEachProfileExposure(totals);
+
+        long totalBalance = 0;
+        long highRiskUsers = 0;
+        List<RiskBandDto> riskBands = new ArrayList<>(RiskBands.NAMES.length);
+        for (int band = 0; band < RiskBands.NAMES.length; band++) {
+            totalBalance += totals.bandBalances[band];
+            if (band >= RiskBands.HIGH_RISK) {
+                highRiskUsers += totals.bandUsers[band];
+            }
+            riskBands.add(new RiskBandDto(RiskBands.NAMES[band], Math.toIntExact(totals.bandUsers[band]),
+                    AmortizationEngine.fromMinorUnits(totals.bandBalances[band])));
+        }
+        long veryHighRiskUsers = totals.bandUsers[RiskBands.NAMES.length - 1];
+
+        return FinancialRiskReportDto.builder()
+                .reportDate(LocalDate.now())
+                .totalAssessedUsers(Math.toIntExact(totals.assessedUsers))
+                .averageRiskScore(totals.assessedUsers > 0 ? Math.round(totals.meanRiskScore * 100) / 100.0 : null)
+                .highRiskPercentage(percentage(highRiskUsers, totals.assessedUsers))
+                .adjustmentEligibleUsers(Math.toIntExact(totals.eligibleUsers))
+                .totalOutstandingBalance(AmortizationEngine.fromMinorUnits(totalBalance))
+                .riskBands(riskBands)
+                .estimatedDefaultRate(percentage(veryHighRiskUsers, totals.assessedUsers))
+                .build();
+    }
+
+    @Override
+    public AdjustmentTrendsReportDto getAdjustmentTrends(LocalDate fromDate, LocalDate toDate) {
+        LocalDate start = fromDate != null ? fromDate : LocalDate.now().minusMonths(6);
+        LocalDate end = toDate != null ? toDate : LocalDate.now();
+        List<AdjustmentMonthlyRollup> rollups = adjustmentMonthlyRollupRepository.findByMonthRange(
+                YearMonth.from(start).toString(), YearMonth.from(end).toString(), Sort.by("month"));
+
+        Map<String, Integer> monthlyRequests = new LinkedHashMap<>();
+        Map<String, BigDecimal> monthlyReductionAmounts = new LinkedHashMap<>();
+        Map<String, Double> monthlyApprovalRates = new LinkedHashMap<>();
+        Map<MortgageAdjustmentRequestDto.FinancialPressureType, Integer> pressureTypeDistribution =
+                new EnumMap<>(MortgageAdjustmentRequestDto.FinancialPressureType.class);
+
+        for (AdjustmentMonthlyRollup rollup : rollups) {
+            long requests = rollup.getRequestCount() != null ? rollup.getRequestCount() : 0;
+            if (requests <= 0) {
+                continue;
+            }
+
+            monthlyRequests.put(rollup.getMonth(), Math.toIntExact(requests));
+            monthlyReductionAmounts.put(rollup.getMonth(), rollup.getReductionAmount() != null
+                    ? rollup.getReductionAmount().setScale(2, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO);
+
+            Map<String, Long> statusCounts = rollup.getStatusCounts() != null ? rollup.getStatusCounts() : Map.of();
+            long approved = statusCounts.getOrDefault(AdjustmentStatus.APPROVED.name(), 0L)
+                    + statusCounts.getOrDefault(AdjustmentStatus.PARTIALLY_APPROVED.name(), 0L);
+            long decided = approved + statusCounts.getOrDefault(AdjustmentStatus.REJECTED.name(), 0L);
+            if (decided > 0) {
+                monthlyApprovalRates.put(rollup.getMonth(), Math.round(approved * 1000.0 / decided) / 10.0);
+            }
+
+            if (rollup.getPressureTypeCounts() != null) {
+                rollup.getPressureTypeCounts().forEach((pressureType, count) -> {
+                    if (count != null && count > 0) {
+                        pressureTypeDistribution.merge(
+                                MortgageAdjustmentRequestDto.FinancialPressureType.valueOf(pressureType),
+                                Math.toIntExact(count), Integer::sum);
+                    }
+                });
+            }
+        }
+
+        return AdjustmentTrendsReportDto.builder()
+                .reportDate(LocalDate.now())
+                .fromDate(start)
+                .toDate(end)
+                .monthlyRequestCounts(monthlyRequests)
+                .monthlyReductionAmounts(monthlyReductionAmounts)
+                .monthlyApprovalRates(monthlyApprovalRates)
+                .pressureTypeDistribution(pressureTypeDistribution)
+                .build();
+    }
+
+    @Override
+    public long rebuildAdjustmentRollups() {
+        return adjustmentMonthlyRollupUpdater.rebuild();
+    }
+
+    private static Map<String, Integer> toIntegerCounts(Map<String, Long> counts) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        counts.forEach((label, count) -> result.put(label, Math.toIntExact(count)));
+        return result;
+    }
+
+    private static BigDecimal toAmount(BigDecimal value) {
+        return (value != null ? value : BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal toAmount(double value) {
+        return Double.isNaN(value) ? null : BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static Double percentage(long part, long whole) {
+        return whole > 0 ? Math.round(part * 1000.0 / whole) / 10.0 : null;
+    }
+
+    private static int countOf(AdjustmentSummaryResult summary, AdjustmentStatus status) {
+        return Math.toIntExact(summary.getCountsByStatus().getOrDefault(status, 0L));
+    }
+
+    /**
+     * Primitive per-band totals and a running mean, folded in as the profile cursor delivers rows
+     */
+    private static final class RiskTotals implements UserFinancialProfileRepository.ProfileExposureConsumer {
+        private final AiFinancialAnalysisService aiFinancialAnalysisService;
+        private final long[] bandUsers = new long[RiskBands.NAMES.length];
+        private final long[] bandBalances = new long[RiskBands.NAMES.length];
+        private long assessedUsers;
+        private long eligibleUsers;
+        private double meanRiskScore;
+
+        RiskTotals(AiFinancialAnalysisService aiFinancialAnalysisService) {
+            this.aiFinancialAnalysisService = aiFinancialAnalysisService;
+        }
+
+        @Override
+        public void accept(double debtToIncomeRatio, int creditScore, long outstandingBalance,
+                           boolean meetsAdjustmentCriteria) {
+            double riskScore = aiFinancialAnalysisService.predictPaymentDifficulty(debtToIncomeRatio, creditScore);
+            int band = RiskBands.of(riskScore);
+            bandUsers[band]++;
+            bandBalances[band] += outstandingBalance;
+            if (meetsAdjustmentCriteria) {
+                eligibleUsers++;
+            }
+
+            assessedUsers++;
+            meanRiskScore += (riskScore - meanRiskScore) / assessedUsers;
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.poalimflex.service;
 
 import com.poalimflex.dto.mortage.adjustment.MortgageAdjustmentRequestDto;
+import com.poalimflex.entity.Mortgage;
 import com.poalimflex.entity.UserFinancialProfile;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -16,6 +18,14 @@ public interface AiFinancialAnalysisService {
      */
     boolean assessFinancialStress(String userId);
 
+    /**
+     * Assess financial stress from an already-loaded financial profile
+     *
+     * @param profile User's financial profile
+     * @return Boolean indicating high financial stress
+     */
+    boolean assessFinancialStress(UserFinancialProfile profile);
+
     /**
      * Predict likelihood of mortgage payment difficulty
      *
@@ -24,6 +34,34 @@ public interface AiFinancialAnalysisService {
      */
     double predictPaymentDifficulty(String userId);
 
+    /**
+     * Predict likelihood of mortgage payment difficulty from an already-loaded financial profile
+     *
+     * @param profile User's financial profile
+     * @return Probability of payment difficulty (0.0 - 1.0)
+     */
+    double predictPaymentDifficulty(UserFinancialProfile profile);
+
+    /**
+     * Predict likelihood of mortgage payment difficulty if the monthly mortgage payment changed, by
+     * shifting the debt-to-income ratio by the change relative to income
+     *
+     * @param profile User's financial profile
+     * @param monthlyPaymentChange Change of the monthly payment, negative for a decrease
+     * @return Probability of payment difficulty (0.0 - 1.0)
+     */
+    double predictPaymentDifficulty(UserFinancialProfile profile, BigDecimal monthlyPaymentChange);
+
+    /**
+     * Predict likelihood of mortgage payment difficulty from raw profile values, for callers that
+     * stream profiles without loading them as entities
+     *
+     * @param debtToIncomeRatio Debt-to-income ratio in percent
+     * @param creditScore Credit score
+     * @return Probability of payment difficulty (0.0 - 1.0)
+     */
+    double predictPaymentDifficulty(double debtToIncomeRatio, int creditScore);
+
     /**
      * Analyze potential financial pressure types
      *
@@ -32,6 +70,14 @@ public interface AiFinancialAnalysisService {
      */
     List<MortgageAdjustmentRequestDto.FinancialPressureType> identifyFinancialPressureTypes(String userId);
 
+    /**
+     * Analyze potential financial pressure types from an already-loaded financial profile
+     *
+     * @param profile User's financial profile
+     * @return List of potential financial pressure types
+     */
+    List<MortgageAdjustmentRequestDto.FinancialPressureType> identifyFinancialPressureTypes(UserFinancialProfile profile);
+
     /**
      * Calculate recommended mortgage adjustment amount
      *
@@ -40,6 +86,14 @@ public interface AiFinancialAnalysisService {
      */
     BigDecimal calculateRecommendedReductionAmount(String userId);
 
+    /**
+     * Calculate recommended mortgage adjustment amount from an already-loaded financial profile
+     *
+     * @param profile User's financial profile
+     * @return Recommended reduction amount
+     */
+    BigDecimal calculateRecommendedReductionAmount(UserFinancialProfile profile);
+
     /**
      * Generate financial health insights
      *
@@ -48,6 +102,14 @@ public interface AiFinancialAnalysisService {
      */
     Map<String, Object> generateFinancialHealthInsights(String userId);
 
+    /**
+     * Generate financial health insights from an already-loaded financial profile
+     *
+     * @param profile User's financial profile
+     * @return Map of financial health indicators
+     */
+    Map<String, Object> generateFinancialHealthInsights(UserFinancialProfile profile);
+
     /**
      * Evaluate user's eligibility for flexible mortgage adjustment
      *
@@ -60,8 +122,34 @@ public interface AiFinancialAnalysisService {
      * Predict long-term financial impact of mortgage adjustment
      *
      * @param userId Unique identifier of the user
+     * @param mortgageAccountNumber Account number of one of the user's mortgages, or null for the user's
+     *                              first active mortgage
      * @param reductionAmount Proposed reduction amount
+     * @param reducedMonths Number of months the reduction applies
      * @return Projected financial impact details
      */
-    Map<String, Object> predictLongTermFinancialImpact(String userId, BigDecimal reductionAmount);
+    Map<String, Object> predictLongTermFinancialImpact(
+            String userId, String mortgageAccountNumber, BigDecimal reductionAmount, int reducedMonths);
+
+    /**
+     * Predict long-term financial impact of mortgage adjustment from an already-loaded financial profile and
+     * mortgage, without any repository access
+     *
+     * @param profile User's financial profile
+     * @param mortgage Mortgage to adjust, with its balance, interest rate and monthly payment, or null when
+     *                 the user has no active mortgage
+     * @param reductionAmount Proposed reduction amount
+     * @param reducedMonths Number of months the reduction applies
+     * @return Projected financial impact details
+     */
+    Map<String, Object> predictLongTermFinancialImpact(
+            UserFinancialProfile profile, Mortgage mortgage, BigDecimal reductionAmount, int reducedMonths);
+
+    /**
+     * Score a batch of financial profiles in a single pass without any repository access
+     *
+     * @param profiles Financial profiles to score
+     * @return One summary per profile, in iteration order
+     */
+    List<FinancialScoreSummary> scoreProfiles(Collection<UserFinancialProfile> profiles);
 }
\ No newline at end of file
@@ -1,8 +1,12 @@
 package com.poalimflex.service;
 
 import com.poalimflex.dto.mortage.adjustment.MortgageAdjustmentRequestDto;
+import com.poalimflex.entity.Mortgage;
 import com.poalimflex.entity.UserFinancialProfile;
+import com.poalimflex.repository.MortgageRepository;
 import com.poalimflex.repository.UserFinancialProfileRepository;
+import com.poalimflex.service.amortization.AmortizationEngine;
+import com.poalimflex.service.amortization.TermExtensionSolver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -10,6 +14,7 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,29 +24,58 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AiFinancialAnalysisServiceImpl implements AiFinancialAnalysisService {
     private final UserFinancialProfileRepository userFinancialProfileRepository;
+    private final MortgageRepository mortgageRepository;
+    private final AmortizationEngine amortizationEngine;
+    private final TermExtensionSolver termExtensionSolver;
 
     @Override
     public boolean assessFinancialStress(String userId) {
-        UserFinancialProfile profile = getUserFinancialProfile(userId);
+        return assessFinancialStress(getUserFinancialProfile(userId));
+    }
 
+    @Override
+    public boolean assessFinancialStress(UserFinancialProfile profile) {
         // Multiple stress indicators
         return calculateFinancialStressScore(profile) > 0.7;
     }
 
     @Override
     public double predictPaymentDifficulty(String userId) {
-        UserFinancialProfile profile = getUserFinancialProfile(userId);
+        return predictPaymentDifficulty(getUserFinancialProfile(userId));
+    }
+
+    @Override
+    public double predictPaymentDifficulty(UserFinancialProfile profile) {
+        return predictPaymentDifficulty(profile.getDebtToIncomeRatio().doubleValue(), profile.getCreditScore());
+    }
+
+    @Override
+    public double predictPaymentDifficulty(UserFinancialProfile profile, BigDecimal monthlyPaymentChange) {
+        double debtToIncomeRatio = profile.getDebtToIncomeRatio().doubleValue();
+        BigDecimal annualIncome = profile.getTotalAnnualIncome();
+        if (annualIncome != null && annualIncome.signum() > 0) {
+            debtToIncomeRatio += monthlyPaymentChange.doubleValue() * 12 * 100 / annualIncome.doubleValue();
+        }
+        return predictPaymentDifficulty(Math.max(0, debtToIncomeRatio), profile.getCreditScore());
+    }
 
+    @Override
+    public double predictPaymentDifficulty(double debtToIncomeRatio, int creditScore) {
         // Complex calculation considering multiple factors
-        double debtToIncomeImpact = profile.getDebtToIncomeRatio().doubleValue() / 100.0;
-        double creditScoreImpact = (850 - profile.getCreditScore()) / 850.0;
+        double debtToIncomeImpact = debtToIncomeRatio / 100.0;
+        double creditScoreImpact = (850 - creditScore) / 850.0;
 
         return Math.min(1.0, debtToIncomeImpact * 0.6 + creditScoreImpact * 0.4);
     }
 
     @Override
     public List<MortgageAdjustmentRequestDto.FinancialPressureType> identifyFinancialPressureTypes(String userId) {
-        UserFinancialProfile profile = getUserFinancialProfile(userId);
+        return identifyFinancialPressureTypes(getUserFinancialProfile(userId));
+    }
+
+    @Override
+    public List<MortgageAdjustmentRequestDto.FinancialPressureType> identifyFinancialPressureTypes(
+            UserFinancialProfile profile) {
         List<MortgageAdjustmentRequestDto.FinancialPressureType> pressureTypes = new ArrayList<>();
 
         // Logic to identify potential financial pressures
@@ -55,26 +89,28 @@ public class AiFinancialAnalysisServiceImpl implements AiFinancialAnalysisServic
 
     @Override
     public BigDecimal calculateRecommendedReductionAmount(String userId) {
-        UserFinancialProfile profile = getUserFinancialProfile(userId);
+        return calculateRecommendedReductionAmount(getUserFinancialProfile(userId));
+    }
 
+    @Override
+    public BigDecimal calculateRecommendedReductionAmount(UserFinancialProfile profile) {
         // Calculate recommended reduction based on financial health
-        double paymentDifficulty = predictPaymentDifficulty(userId);
-        BigDecimal annualIncome = profile.getTotalAnnualIncome();
-
-        return annualIncome
-                .multiply(BigDecimal.valueOf(paymentDifficulty * 0.1))
-                .divide(BigDecimal.valueOf(12), 2, RoundingMode.HALF_UP);
+        return calculateRecommendedReductionAmount(profile, predictPaymentDifficulty(profile));
     }
 
     @Override
     public Map<String, Object> generateFinancialHealthInsights(String userId) {
-        UserFinancialProfile profile = getUserFinancialProfile(userId);
+        return generateFinancialHealthInsights(getUserFinancialProfile(userId));
+    }
+
+    @Override
+    public Map<String, Object> generateFinancialHealthInsights(UserFinancialProfile profile) {
         Map<String, Object> insights = new HashMap<>();
 
         insights.put("debtToIncomeRatio", profile.getDebtToIncomeRatio());
         insights.put("creditScore", profile.getCreditScore());
         insights.put("financialStabilityScore", profile.getFinancialStabilityScore());
-        insights.put("paymentDifficulty", predictPaymentDifficulty(userId));
+        insights.put("paymentDifficulty", predictPaymentDifficulty(profile));
 
         return insights;
     }
@@ -92,19 +128,52 @@ public class AiFinancialAnalysisServiceImpl implements AiFinancialAnalysisServic
     }
 
     @Override
-    public Map<String, Object> predictLongTermFinancialImpact(String userId, BigDecimal reductionAmount) {
-        UserFinancialProfile profile = getUserFinancialProfile(userId);
+    public Map<String, Object> predictLongTermFinancialImpact(
+            String userId, String mortgageAccountNumber, BigDecimal reductionAmount, int reducedMonths) {
+        Mortgage mortgage = mortgageAccountNumber != null
+                ? mortgageRepository.findSimulationInputsByUserIdAndAccountNumber(userId, mortgageAccountNumber)
+                        .orElseThrow(() -> new RuntimeException("Mortgage not found"))
+                : mortgageRepository.findActiveSimulationInputsByUserId(userId).stream().findFirst().orElse(null);
+        return predictLongTermFinancialImpact(getUserFinancialProfile(userId), mortgage, reductionAmount, reducedMonths);
+    }
+
+    @Override
+    public Map<String, Object> predictLongTermFinancialImpact(
+            UserFinancialProfile profile, Mortgage mortgage, BigDecimal reductionAmount, int reducedMonths) {
         Map<String, Object> impact = new HashMap<>();
 
-        double paymentDifficulty = predictPaymentDifficulty(userId);
+        double paymentDifficulty = predictPaymentDifficulty(profile);
 
         impact.put("additionalInterestProjection", calculateAdditionalInterest(reductionAmount));
-        impact.put("extendedLoanTermMonths", calculateExtendedLoanTerm(reductionAmount));
+        int extendedLoanTerm = calculateExtendedLoanTerm(mortgage, reductionAmount, reducedMonths);
+        impact.put("extendedLoanTermMonths", extendedLoanTerm);
+        impact.put("loanRepayable", extendedLoanTerm != TermExtensionSolver.NOT_REPAYABLE);
         impact.put("riskMitigationScore", paymentDifficulty);
 
         return impact;
     }
 
+    @Override
+    public List<FinancialScoreSummary> scoreProfiles(Collection<UserFinancialProfile> profiles) {
+        List<FinancialScoreSummary> summaries = new ArrayList<>(profiles.size());
+
+        for (UserFinancialProfile profile : profiles) {
+            double stressScore = calculateFinancialStressScore(profile);
+            double paymentDifficulty = predictPaymentDifficulty(profile);
+
+            summaries.add(FinancialScoreSummary.builder()
+                    .userId(profile.getUserId())
+                    .stressScore(stressScore)
+                    .highFinancialStress(stressScore > 0.7)
+                    .paymentDifficulty(paymentDifficulty)
+                    .eligibilityScore(evaluateFlexibilityEligibility(profile))
+                    .pressureTypes(identifyFinancialPressureTypes(profile))
+                    .build());
+        }
+
+        return summaries;
+    }
+
     // Helper method to retrieve financial profile
     private UserFinancialProfile getUserFinancialProfile(String userId) {
         return userFinancialProfileRepository.findByUserId(userId)
@@ -119,13 +188,30 @@ public class AiFinancialAnalysisServiceImpl implements AiFinancialAnalysisServic
         return Math.min(1.0, debtStress * 0.6 + creditRisk * 0.4);
     }
 
+    private BigDecimal calculateRecommendedReductionAmount(UserFinancialProfile profile, double paymentDifficulty) {
+        BigDecimal annualIncome = profile.getTotalAnnualIncome();
+
+        return annualIncome
+                .multiply(BigDecimal.valueOf(paymentDifficulty * 0.1))
+                .divide(BigDecimal.valueOf(12), 2, RoundingMode.HALF_UP);
+    }
+
     private BigDecimal calculateAdditionalInterest(BigDecimal reductionAmount) {
         // Simplified additional interest calculation
         return reductionAmount.multiply(BigDecimal.valueOf(0.05));
     }
 
-    private int calculateExtendedLoanTerm(BigDecimal reductionAmount) {
-        // Simplified loan term extension calculation
-        return reductionAmount.divide(BigDecimal.valueOf(1000), 0, RoundingMode.UP).intValue();
+    private int calculateExtendedLoanTerm(Mortgage mortgage, BigDecimal reductionAmount, int reducedMonths) {
+        // Months added to the mortgage by reducing its payment for the given number of months
+        if (mortgage == null || mortgage.getCurrentBalance() == null || mortgage.getInterestRate() == null
+                || mortgage.getMonthlyPayment() == null) {
+            return 0;
+        }
+        return termExtensionSolver.additionalMonths(
+                AmortizationEngine.toMinorUnits(mortgage.getCurrentBalance()),
+                amortizationEngine.monthlyRateMicros(mortgage.getInterestRate()),
+                AmortizationEngine.toMinorUnits(mortgage.getMonthlyPayment()),
+                AmortizationEngine.toMinorUnits(reductionAmount),
+                reducedMonths);
     }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.poalimflex.service;
+
+import com.poalimflex.dto.mortage.adjustment.MortgageAdjustmentRequestDto;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Compact scoring result for one financial profile, produced by
+ * {@link AiFinancialAnalysisService#scoreProfiles}
+ */
+@Value
+@Builder
+public class FinancialScoreSummary {
+    String userId;
+
+    /**
+     * Financial stress score (0.0 - 1.0)
+     */
+    double stressScore;
+
+    boolean highFinancialStress;
+
+    /**
+     * Probability of payment difficulty (0.0 - 1.0)
+     */
+    double paymentDifficulty;
+
+    /**
+     * Flexibility eligibility score (0.0 - 1.0)
+     */
+    double eligibilityScore;
+
+    List<MortgageAdjustmentRequestDto.FinancialPressureType> pressureTypes;
+}
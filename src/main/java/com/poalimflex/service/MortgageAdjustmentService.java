@@ -4,6 +4,7 @@ import com.poalimflex.dto.mortage.adjustment.*;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface for mortgage adjustment services
@@ -46,6 +47,30 @@ public interface MortgageAdjustmentService {
      */
     List<MortgageAdjustmentResponseDto> getAdjustmentHistory(String userId, LocalDate fromDate, LocalDate toDate);
 
+    /**
+     * Retrieve one page of adjustment history for a user using keyset pagination
+     *
+     * @param userId The unique identifier of the user
+     * @param fromDate Optional start date for filtering
+     * @param toDate Optional end date for filtering
+     * @param cursor Position after which to continue, or null for the first page
+     * @param limit Maximum number of entries on the page
+     * @return Page of adjustment history entries with a continuation token
+     */
+    AdjustmentHistoryPageDto getAdjustmentHistoryPage(
+            String userId, LocalDate fromDate, LocalDate toDate, AdjustmentHistoryCursor cursor, int limit);
+
+    /**
+     * Stream a user's adjustment history entry by entry, without materializing the full list
+     *
+     * @param userId The unique identifier of the user
+     * @param fromDate Optional start date for filtering
+     * @param toDate Optional end date for filtering
+     * @param consumer Receives each entry as it is read, newest first
+     */
+    void streamAdjustmentHistory(
+            String userId, LocalDate fromDate, LocalDate toDate, Consumer<MortgageAdjustmentResponseDto> consumer);
+
     /**
      * Generate AI-powered adjustment recommendations
      *
@@ -62,6 +87,26 @@ public interface MortgageAdjustmentService {
      */
     AdjustmentSimulationResultDto simulateAdjustment(AdjustmentSimulationRequestDto request);
 
+    /**
+     * Simulate every combination of a range of reduction amounts and durations, loading the mortgage
+     * and risk inputs once
+     *
+     * @param request The ranges to evaluate
+     * @return Matrices of adjusted payment, additional interest and loan term impact
+     * @throws IllegalArgumentException if a range is empty or the grid is too large
+     */
+    AdjustmentSimulationSweepResultDto simulateAdjustmentSweep(AdjustmentSimulationSweepRequestDto request);
+
+    /**
+     * Simulate a proposed adjustment of a variable rate or hybrid mortgage under randomly generated
+     * interest rate paths
+     *
+     * @param request The simulation request parameters
+     * @return Percentile bands of the adjusted payment and additional interest
+     * @throws IllegalArgumentException if the mortgage has a fixed rate
+     */
+    RateScenarioSimulationResultDto simulateRateScenarios(RateScenarioSimulationRequestDto request);
+
     /**
      * Cancel a pending adjustment request
      *
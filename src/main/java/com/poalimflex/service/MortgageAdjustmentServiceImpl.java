@@ -1,13 +1,25 @@
 package com.poalimflex.service;
 
+import com.poalimflex.cache.EligibilityCache;
+import com.poalimflex.cache.PaymentDifficultyCache;
+import com.poalimflex.cache.SimulationCache;
+import com.poalimflex.cache.SimulationKey;
 import com.poalimflex.dto.mortage.adjustment.*;
 import com.poalimflex.dto.mortage.adjustment.MortgageAdjustmentResponseDto.AdjustmentStatus;
 import com.poalimflex.dto.mortage.adjustment.MortgageAdjustmentResponseDto.MonthlyProjection;
 import com.poalimflex.entity.Mortgage;
 import com.poalimflex.entity.MortgageAdjustment;
+import com.poalimflex.entity.UserFinancialProfile;
 import com.poalimflex.repository.MortgageAdjustmentRepository;
 import com.poalimflex.repository.MortgageRepository;
-import com.poalimflex.repository.UserFinancialProfileRepository;
+import com.poalimflex.service.amortization.AmortizationEngine;
+import com.poalimflex.service.amortization.RateScenarioSimulator;
+import com.poalimflex.service.amortization.SimulationSweepEvaluator;
+import com.poalimflex.service.amortization.TermExtensionSolver;
+import com.poalimflex.service.repayment.ReducedPaymentPeriod;
+import com.poalimflex.service.repayment.RepaymentStrategyEngine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -18,16 +30,35 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class MortgageAdjustmentServiceImpl implements MortgageAdjustmentService {
+    private static final int BREAKDOWN_PROJECTION_MONTHS = 3;
+    private static final int MAX_SWEEP_REDUCTION_STEPS = 500;
+    private static final int DEFAULT_RATE_SCENARIO_PATHS = 10_000;
+
     private final MortgageRepository mortgageRepository;
     private final MortgageAdjustmentRepository mortgageAdjustmentRepository;
-    private final UserFinancialProfileRepository userFinancialProfileRepository;
     private final AiFinancialAnalysisService aiFinancialAnalysisService;
+    private final AdjustmentEvaluationContextLoader contextLoader;
+    private final EligibilityCache eligibilityCache;
+    private final MeterRegistry meterRegistry;
+    private final AmortizationEngine amortizationEngine;
+    private final TermExtensionSolver termExtensionSolver;
+    private final RepaymentStrategyEngine repaymentStrategyEngine;
+    private final SimulationSweepEvaluator simulationSweepEvaluator;
+    private final SimulationCache simulationCache;
+    private final PaymentDifficultyCache paymentDifficultyCache;
+    private final RateScenarioSimulator rateScenarioSimulator;
 
     @Override
     @Transactional
@@ -35,8 +66,21 @@ public class MortgageAdjustmentServiceImpl implements MortgageAdjustmentService
         // Log the incoming request
         log.info("Processing mortgage adjustment request for user: {}", request.getUserId());
 
+        // Load mortgages, adjustment counts and financial profile once for the whole evaluation
+        AdjustmentEvaluationContext context = contextLoader.load(request.getUserId());
+        try {
+            return processMortgageAdjustment(request, context);
+        } finally {
+            recordLookups("process", context);
+        }
+    }
+
+    private MortgageAdjustmentResponseDto processMortgageAdjustment(
+            MortgageAdjustmentRequestDto request,
+            AdjustmentEvaluationContext context
+    ) {
         // Check eligibility
-        if (!checkEligibility(request.getUserId())) {
+        if (!context.isEligible()) {
             return MortgageAdjustmentResponseDto.builder()
                     .status(AdjustmentStatus.REJECTED)
                     .statusDescription("User not eligible for mortgage adjustment")
@@ -44,17 +88,17 @@ public class MortgageAdjustmentServiceImpl implements MortgageAdjustmentService
         }
 
         // Find the mortgage
-        Mortgage mortgage = mortgageRepository.findByAccountNumber(request.getMortgageAccountNumber())
-                .orElseThrow(() -> new RuntimeException("Mortgage not found"));
+        Mortgage mortgage = findMortgage(context, request.getMortgageAccountNumber());
 
         // Perform AI-powered financial stress analysis
-        boolean isHighRisk = aiFinancialAnalysisService.assessFinancialStress(request.getUserId());
+        UserFinancialProfile profile = context.requireFinancialProfile();
+        boolean isHighRisk = aiFinancialAnalysisService.assessFinancialStress(profile);
 
         // Validate and process the adjustment
-        BigDecimal approvedReduction = validateAndCalculateReduction(request, isHighRisk);
+        BigDecimal approvedReduction = validateAndCalculateReduction(request, context, isHighRisk);
 
         // Calculate additional interest
-        BigDecimal additionalInterest = calculateAdditionalInterestAmount(request, approvedReduction);
+        BigDecimal additionalInterest = calculateAdditionalInterestAmount(mortgage, approvedReduction);
 
         // Generate unique adjustment ID
         String adjustmentId = generateAdjustmentId();
@@ -68,7 +112,7 @@ public class MortgageAdjustmentServiceImpl implements MortgageAdjustmentService
                 BigDecimal.valueOf(mortgage.getRemainingTermMonths()));
 
         // Determine risk assessment score
-        double riskAssessmentScore = aiFinancialAnalysisService.predictPaymentDifficulty(request.getUserId());
+        double riskAssessmentScore = aiFinancialAnalysisService.predictPaymentDifficulty(profile);
 
         // Save the adjustment entity
         MortgageAdjustment adjustment = MortgageAdjustment.builder()
@@ -86,15 +130,19 @@ public class MortgageAdjustmentServiceImpl implements MortgageAdjustmentService
                 .riskAssessmentScore(riskAssessmentScore)
                 .build();
 
-        mortgageAdjustmentRepository.save(adjustment);
-
         // Build recommended actions
         List<String> recommendedActions = generateRecommendedActions(request, riskAssessmentScore);
 
-        // Calculate repayment breakdown
+        // Calculate repayment breakdown before saving, so nothing is stored for a request that cannot be answered
         MortgageAdjustmentResponseDto.RepaymentBreakdown repaymentBreakdown = calculateRepaymentBreakdown(
                 mortgage, approvedReduction, additionalInterest);
 
+        // Invalidates the user's eligibility directly, sparing the listener a mortgage lookup
+        eligibilityCache.writeFor(context.getUserId(), () -> mortgageAdjustmentRepository.save(adjustment));
+        context.recordLookup();
+        // The monthly rollup $inc upserted by AdjustmentMonthlyRollupListener as part of the save
+        context.recordLookup();
+
         // Build and return response
         return MortgageAdjustmentResponseDto.builder()
                 .adjustmentId(adjustmentId)
@@ -118,30 +166,9 @@ public class MortgageAdjustmentServiceImpl implements MortgageAdjustmentService
 
     @Override
     public boolean checkEligibility(String userId) {
-        // Check if the user has an active mortgage
-        long activeMortgageCount = mortgageRepository.countByUserIdAndIsActiveTrue(userId);
-        if (activeMortgageCount == 0) {
-            return false;
-        }
-
-        // Check if the user is eligible based on mortgage criteria
-        boolean isEligible = mortgageRepository.isUserEligibleForAdjustment(userId);
-
-        // Get all mortgages for the user
-        List<Mortgage> mortgages = mortgageRepository.findByUserId(userId);
-
-        // Check previous adjustments (max 4 per year)
-        boolean tooManyAdjustments = false;
-        for (Mortgage mortgage : mortgages) {
-            long adjustmentsInLastYear = mortgageAdjustmentRepository.countAdjustmentsInLastYear(
-                    mortgage.getId(), LocalDateTime.now().minusYears(1));
-            if (adjustmentsInLastYear >= 4) {
-                tooManyAdjustments = true;
-                break;
-            }
-        }
-
-        return isEligible && !tooManyAdjustments;
+        // Active mortgages, mortgage criteria and adjustments per mortgage (max 4 per year),
+        // served from cache until one of the user's mortgages or adjustments is written
+        return eligibilityCache.get(userId).isEligible();
     }
 
     @Override
@@ -156,73 +183,104 @@ public class MortgageAdjustmentServiceImpl implements MortgageAdjustmentService
             return Collections.emptyList();
         }
 
-        // Get all mortgage IDs
-        List<String> mortgageIds = userMortgages.stream()
-                .map(Mortgage::getId)
-                .collect(Collectors.toList());
+        // Index mortgages by ID so DTO conversion needs no further lookups
+        Map<String, Mortgage> mortgagesById = userMortgages.stream()
+                .collect(Collectors.toMap(Mortgage::getId, Function.identity()));
 
-        // Retrieve adjustments for these mortgages
-        List<MortgageAdjustment> adjustments = new ArrayList<>();
-        for (String mortgageId : mortgageIds) {
-            adjustments.addAll(mortgageAdjustmentRepository.findByMortgageId(mortgageId));
-        }
+        // Retrieve adjustments for all mortgages in one query, filtered and sorted (newest first) by MongoDB
+        List<MortgageAdjustment> adjustments = mortgageAdjustmentRepository.findByMortgageIdsAndDateRange(
+                mortgagesById.keySet(),
+                fromDate != null ? fromDate.atStartOfDay() : null,
+                toDate != null ? toDate.plusDays(1).atStartOfDay() : null);
 
-        // Apply date filtering if applicable
-        if (fromDate != null) {
-            LocalDateTime fromDateTime = fromDate.atStartOfDay();
-            adjustments = adjustments.stream()
-                    .filter(adj -> adj.getAdjustmentDate().isAfter(fromDateTime) ||
-                            adj.getAdjustmentDate().isEqual(fromDateTime))
-                    .collect(Collectors.toList());
-        }
+        // Convert to DTOs
+        return adjustments.stream()
+                .map(adjustment -> convertToResponseDto(adjustment, mortgagesById.get(adjustment.getMortgageId())))
+                .collect(Collectors.toList());
+    }
 
-        if (toDate != null) {
-            LocalDateTime toDateTime = toDate.plusDays(1).atStartOfDay();
-            adjustments = adjustments.stream()
-                    .filter(adj -> adj.getAdjustmentDate().isBefore(toDateTime))
-                    .collect(Collectors.toList());
+    @Override
+    public AdjustmentHistoryPageDto getAdjustmentHistoryPage(
+            String userId, LocalDate fromDate, LocalDate toDate, AdjustmentHistoryCursor cursor, int limit) {
+        log.info("Retrieving adjustment history page for user: {}", userId);
+
+        Map<String, Mortgage> mortgagesById = findMortgagesById(userId);
+
+        // Fetch one extra row to learn whether another page follows
+        List<MortgageAdjustment> adjustments = mortgageAdjustmentRepository.findPageByMortgageIds(
+                mortgagesById.keySet(),
+                fromDate != null ? fromDate.atStartOfDay() : null,
+                toDate != null ? toDate.plusDays(1).atStartOfDay() : null,
+                cursor != null ? cursor.getAdjustmentDate() : null,
+                cursor != null ? cursor.getAdjustmentId() : null,
+                limit + 1);
+
+        boolean hasMore = adjustments.size() > limit;
+        List<MortgageAdjustment> page = hasMore ? adjustments.subList(0, limit) : adjustments;
+
+        String nextCursor = null;
+        if (hasMore) {
+            MortgageAdjustment last = page.get(page.size() - 1);
+            nextCursor = new AdjustmentHistoryCursor(last.getAdjustmentDate(), last.getId()).encode();
         }
 
-        // Sort by date (newest first)
-        adjustments.sort(Comparator.comparing(MortgageAdjustment::getAdjustmentDate).reversed());
+        return AdjustmentHistoryPageDto.builder()
+                .items(page.stream()
+                        .map(adjustment -> convertToResponseDto(adjustment, mortgagesById.get(adjustment.getMortgageId())))
+                        .collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
 
-        // Convert to DTOs
-        return adjustments.stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+    @Override
+    public void streamAdjustmentHistory(
+            String userId, LocalDate fromDate, LocalDate toDate, Consumer<MortgageAdjustmentResponseDto> consumer) {
+        log.info("Streaming adjustment history for user: {}", userId);
+
+        Map<String, Mortgage> mortgagesById = findMortgagesById(userId);
+
+        try (Stream<MortgageAdjustment> adjustments = mortgageAdjustmentRepository.streamByMortgageIds(
+                mortgagesById.keySet(),
+                fromDate != null ? fromDate.atStartOfDay() : null,
+                toDate != null ? toDate.plusDays(1).atStartOfDay() : null)) {
+            adjustments.forEach(adjustment ->
+                    consumer.accept(convertToResponseDto(adjustment, mortgagesById.get(adjustment.getMortgageId()))));
+        }
     }
 
     @Override
     public MortgageAdjustmentRecommendationDto generateAdjustmentRecommendation(String userId) {
         log.info("Generating adjustment recommendations for user: {}", userId);
 
-        // Find mortgage details
-        List<Mortgage> userMortgages = mortgageRepository.findByUserId(userId);
-        if (userMortgages.isEmpty()) {
+        // Find mortgage details and financial profile in one parallel load
+        AdjustmentEvaluationContext context = contextLoader.load(userId);
+        if (context.getMortgages().isEmpty()) {
             log.warn("No mortgages found for user: {}", userId);
             throw new RuntimeException("No mortgages found for user");
         }
 
         // Use the first active mortgage for recommendation
-        Mortgage activeMortgage = userMortgages.stream()
-                .filter(m -> m.getIsActive())
-                .findFirst()
+        Mortgage activeMortgage = context.findFirstActiveMortgage()
                 .orElseThrow(() -> new RuntimeException("No active mortgages found"));
 
         // Use AI service to get recommendations
-        BigDecimal recommendedAmount = aiFinancialAnalysisService.calculateRecommendedReductionAmount(userId);
-        double paymentDifficulty = aiFinancialAnalysisService.predictPaymentDifficulty(userId);
+        UserFinancialProfile profile = context.requireFinancialProfile();
+        BigDecimal recommendedAmount = aiFinancialAnalysisService.calculateRecommendedReductionAmount(profile);
+        double paymentDifficulty = aiFinancialAnalysisService.predictPaymentDifficulty(profile);
         List<MortgageAdjustmentRequestDto.FinancialPressureType> pressureTypes =
-                aiFinancialAnalysisService.identifyFinancialPressureTypes(userId);
+                aiFinancialAnalysisService.identifyFinancialPressureTypes(profile);
 
         // Calculate recommended duration based on payment difficulty
         int recommendedDuration = calculateRecommendedDuration(paymentDifficulty);
 
         // Determine recommended repayment strategy
-        MortgageAdjustmentRequestDto.RepaymentStrategy strategy = determineOptimalRepaymentStrategy(userId);
+        MortgageAdjustmentRequestDto.RepaymentStrategy strategy = determineOptimalRepaymentStrategy(profile);
 
         // Project loan term impact
-        int loanTermImpact = calculateLoanTermImpact(recommendedAmount, recommendedDuration);
+        int loanTermImpact = calculateLoanTermImpact(activeMortgage, recommendedAmount, recommendedDuration);
+
+        recordLookups("recommendation", context);
 
         return MortgageAdjustmentRecommendationDto.builder()
                 .userId(userId)
@@ -233,6 +291,7 @@ public class MortgageAdjustmentServiceImpl implements MortgageAdjustmentService
                 .financialRiskScore(paymentDifficulty)
                 .recommendedRepaymentStrategy(strategy)
                 .projectedLoanTermImpact(loanTermImpact)
+                .loanRepayable(loanTermImpact != TermExtensionSolver.NOT_REPAYABLE)
                 .build();
     }
 
@@ -240,13 +299,52 @@ public class MortgageAdjustmentServiceImpl implements MortgageAdjustmentService
     public AdjustmentSimulationResultDto simulateAdjustment(AdjustmentSimulationRequestDto request) {
         log.info("Simulating adjustment for user: {}", request.getUserId());
 
-        // Find the mortgage
-        Mortgage mortgage = mortgageRepository.findByAccountNumber(request.getMortgageAccountNumber())
+        // Read only the simulated fields; they form part of the cache key, so this doubles as the version check
+        AtomicInteger lookups = new AtomicInteger(1);
+        Mortgage mortgage = mortgageRepository.findSimulationInputsByAccountNumber(request.getMortgageAccountNumber())
                 .orElseThrow(() -> new RuntimeException("Mortgage not found"));
 
-        // Eligibility check
-        boolean isEligible = checkEligibility(request.getUserId());
+        MortgageAdjustmentRequestDto.RepaymentStrategy strategy = request.getRepaymentStrategy() != null
+                ? request.getRepaymentStrategy()
+                : MortgageAdjustmentRequestDto.RepaymentStrategy.SPREAD_EVENLY;
+        AdjustmentSimulationResultDto simulation = simulationCache.get(
+                SimulationKey.of(mortgage, request, strategy),
+                () -> simulateMortgage(mortgage, request, strategy));
 
+        // Eligibility and risk are per user and served from their own write-invalidated caches
+        boolean isEligible = eligibilityCache.get(request.getUserId(), lookups::incrementAndGet).isEligible();
+        double riskScore = paymentDifficultyCache.get(request.getUserId(), userId -> {
+            lookups.incrementAndGet();
+            return aiFinancialAnalysisService.predictPaymentDifficulty(userId);
+        });
+
+        // Improvement suggestions
+        List<String> suggestions = generateImprovementSuggestions(request, riskScore);
+
+        recordLookups("simulate", lookups.get());
+
+        return AdjustmentSimulationResultDto.builder()
+                .projectedAdjustedPayment(simulation.getProjectedAdjustedPayment())
+                .totalAdditionalInterest(simulation.getTotalAdditionalInterest())
+                .projectedLoanTermImpact(simulation.getProjectedLoanTermImpact())
+                .postAdjustmentMonthlyPayment(simulation.getPostAdjustmentMonthlyPayment())
+                .repaymentStrategy(simulation.getRepaymentStrategy())
+                .monthlyProjections(simulation.getMonthlyProjections())
+                .riskAssessmentScore(riskScore)
+                .eligibleForAdjustment(isEligible)
+                .improvementSuggestions(suggestions)
+                .strategyComparisons(simulation.getStrategyComparisons())
+                .build();
+    }
+
+    /**
+     * Compute the mortgage-dependent part of a simulation, which is a pure function of {@link SimulationKey}
+     */
+    private AdjustmentSimulationResultDto simulateMortgage(
+            Mortgage mortgage,
+            AdjustmentSimulationRequestDto request,
+            MortgageAdjustmentRequestDto.RepaymentStrategy strategy
+    ) {
         // Calculate adjusted payment
         BigDecimal currentMonthlyPayment = mortgage.getMonthlyPayment();
         BigDecimal adjustedPayment = currentMonthlyPayment.subtract(request.getProposedReductionAmount());
@@ -258,34 +356,104 @@ public class MortgageAdjustmentServiceImpl implements MortgageAdjustmentService
         BigDecimal additionalInterest = calculateAdditionalInterestForDeferral(
                 deferredAmount, interestRate, mortgage.getRemainingTermMonths());
 
-        // Calculate post-adjustment payment
-        BigDecimal postAdjustmentPayment = calculatePostAdjustmentPayment(
-                mortgage, request.getProposedReductionAmount(), request.getDurationMonths());
-
-        // Risk assessment
-        double riskScore = aiFinancialAnalysisService.predictPaymentDifficulty(request.getUserId());
-
-        // Generate monthly projections
-        List<MonthlyProjection> projections = generateMonthlyProjections(
-                mortgage, request.getProposedStartDate(), request.getDurationMonths(),
-                adjustedPayment, postAdjustmentPayment);
+        // Project the reduced period once and the catch-up schedule of the requested strategy from it
+        ReducedPaymentPeriod reducedPeriod = repaymentStrategyEngine.reducePayments(
+                mortgage, request.getProposedReductionAmount(), request.getDurationMonths(),
+                request.getProposedStartDate());
+
+        List<AdjustmentSimulationResultDto.StrategyComparison> comparisons = null;
+        AdjustmentSimulationResultDto.StrategyComparison projection;
+        if (Boolean.TRUE.equals(request.getEvaluateAllStrategies())) {
+            comparisons = List.copyOf(repaymentStrategyEngine.projectAll(reducedPeriod));
+            projection = comparisons.stream()
+                    .filter(comparison -> comparison.getStrategy() == strategy)
+                    .findFirst()
+                    .orElseGet(() -> repaymentStrategyEngine.project(reducedPeriod, strategy));
+        } else {
+            projection = repaymentStrategyEngine.project(reducedPeriod, strategy);
+        }
 
         // Loan term impact
         int loanTermImpact = calculateLoanTermImpact(
-                request.getProposedReductionAmount(), request.getDurationMonths());
-
-        // Improvement suggestions
-        List<String> suggestions = generateImprovementSuggestions(request, riskScore);
+                mortgage, request.getProposedReductionAmount(), request.getDurationMonths());
 
         return AdjustmentSimulationResultDto.builder()
                 .projectedAdjustedPayment(adjustedPayment)
                 .totalAdditionalInterest(additionalInterest)
                 .projectedLoanTermImpact(loanTermImpact)
-                .postAdjustmentMonthlyPayment(postAdjustmentPayment)
-                .monthlyProjections(projections)
+                .loanRepayable(loanTermImpact != TermExtensionSolver.NOT_REPAYABLE)
+                .postAdjustmentMonthlyPayment(projection.getPostAdjustmentMonthlyPayment())
+                .repaymentStrategy(strategy)
+                .monthlyProjections(List.copyOf(projection.getMonthlyProjections()))
+                .strategyComparisons(comparisons)
+                .build();
+    }
+
+    @Override
+    public AdjustmentSimulationSweepResultDto simulateAdjustmentSweep(AdjustmentSimulationSweepRequestDto request) {
+        List<BigDecimal> reductionAmounts = sweepReductionAmounts(request);
+        if (request.getMinDurationMonths() > request.getMaxDurationMonths()) {
+            throw new IllegalArgumentException("Minimum duration exceeds maximum duration");
+        }
+        List<Integer> durations = IntStream.rangeClosed(request.getMinDurationMonths(), request.getMaxDurationMonths())
+                .boxed()
+                .collect(Collectors.toList());
+
+        log.info("Simulating {}x{} adjustment sweep for user: {}",
+                reductionAmounts.size(), durations.size(), request.getUserId());
+
+        // Mortgage, eligibility and risk inputs are shared by every cell of the grid
+        AdjustmentEvaluationContext context = contextLoader.load(request.getUserId());
+        Mortgage mortgage = findMortgage(context, request.getMortgageAccountNumber());
+        double riskScore = aiFinancialAnalysisService.predictPaymentDifficulty(context.requireFinancialProfile());
+
+        SimulationSweepEvaluator.SweepMatrices matrices =
+                simulationSweepEvaluator.evaluate(mortgage, reductionAmounts, durations);
+
+        recordLookups("sweep", context);
+
+        return AdjustmentSimulationSweepResultDto.builder()
+                .reductionAmounts(reductionAmounts)
+                .durationMonths(durations)
+                .adjustedPayments(reductionAmounts.stream()
+                        .map(mortgage.getMonthlyPayment()::subtract)
+                        .toArray(BigDecimal[]::new))
+                .additionalInterest(matrices.additionalInterest())
+                .loanTermImpact(matrices.loanTermImpact())
                 .riskAssessmentScore(riskScore)
-                .eligibleForAdjustment(isEligible)
-                .improvementSuggestions(suggestions)
+                .eligibleForAdjustment(context.isEligible())
+                .build();
+    }
+
+    @Override
+    public RateScenarioSimulationResultDto simulateRateScenarios(RateScenarioSimulationRequestDto request) {
+        Mortgage mortgage = mortgageRepository.findByAccountNumber(request.getMortgageAccountNumber())
+                .orElseThrow(() -> new RuntimeException("Mortgage not found"));
+        int fixedRateMonths = rateScenarioSimulator.fixedRateMonths(mortgage);
+        int paths = request.getPaths() != null ? request.getPaths() : DEFAULT_RATE_SCENARIO_PATHS;
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+
+        log.info("Simulating {} rate scenarios for user: {}", paths, request.getUserId());
+
+        RateScenarioSimulator.ScenarioPercentiles percentiles = rateScenarioSimulator.simulate(
+                mortgage, request.getProposedReductionAmount(), request.getDurationMonths(), paths, seed);
+
+        return RateScenarioSimulationResultDto.builder()
+                .mortgageType(mortgage.getMortgageType())
+                .paths(paths)
+                .seed(seed)
+                .fixedRateMonths(Math.min(fixedRateMonths, mortgage.getRemainingTermMonths()))
+                .adjustedPayment(toPercentileBand(percentiles.adjustedPayment()))
+                .totalAdditionalInterest(toPercentileBand(percentiles.additionalInterest()))
+                .build();
+    }
+
+    private static RateScenarioSimulationResultDto.PercentileBand toPercentileBand(
+            RateScenarioSimulator.Percentiles percentiles) {
+        return RateScenarioSimulationResultDto.PercentileBand.builder()
+                .p5(AmortizationEngine.fromMinorUnits(percentiles.p5()))
+                .p50(AmortizationEngine.fromMinorUnits(percentiles.p50()))
+                .p95(AmortizationEngine.fromMinorUnits(percentiles.p95()))
                 .build();
     }
 
@@ -307,11 +475,52 @@ public class MortgageAdjustmentServiceImpl implements MortgageAdjustmentService
     }
 
     // Helper methods
+    private Mortgage findMortgage(AdjustmentEvaluationContext context, String accountNumber) {
+        return context.findMortgageByAccountNumber(accountNumber)
+                .orElseGet(() -> {
+                    context.recordLookup();
+                    return mortgageRepository.findByAccountNumber(accountNumber)
+                            .orElseThrow(() -> new RuntimeException("Mortgage not found"));
+                });
+    }
+
+    private List<BigDecimal> sweepReductionAmounts(AdjustmentSimulationSweepRequestDto request) {
+        BigDecimal min = request.getMinReductionAmount();
+        BigDecimal max = request.getMaxReductionAmount();
+        if (min.compareTo(max) > 0) {
+            throw new IllegalArgumentException("Minimum reduction amount exceeds maximum reduction amount");
+        }
+
+        long steps = max.subtract(min).divideToIntegralValue(request.getReductionStep()).longValueExact() + 1;
+        if (steps > MAX_SWEEP_REDUCTION_STEPS) {
+            throw new IllegalArgumentException("Sweep cannot exceed " + MAX_SWEEP_REDUCTION_STEPS + " reduction amounts");
+        }
+
+        List<BigDecimal> amounts = new ArrayList<>((int) steps);
+        for (long i = 0; i < steps; i++) {
+            amounts.add(min.add(request.getReductionStep().multiply(BigDecimal.valueOf(i))));
+        }
+        return amounts;
+    }
+
+    private void recordLookups(String operation, AdjustmentEvaluationContext context) {
+        recordLookups(operation, context.getMongoLookupCount());
+    }
+
+    private void recordLookups(String operation, int lookups) {
+        DistributionSummary.builder("poalimflex.adjustment.mongo.lookups")
+                .description("MongoDB round trips per adjustment request")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(lookups);
+    }
+
     private BigDecimal validateAndCalculateReduction(
             MortgageAdjustmentRequestDto request,
+            AdjustmentEvaluationContext context,
             boolean isHighRisk
     ) {
-        BigDecimal maxAllowedReduction = calculateMaxReduction(request.getUserId());
+        BigDecimal maxAllowedReduction = calculateMaxReduction(context);
 
         // Adjust reduction based on risk assessment
         if (isHighRisk) {
@@ -324,13 +533,9 @@ public class MortgageAdjustmentServiceImpl implements MortgageAdjustmentService
     }
 
     private BigDecimal calculateAdditionalInterestAmount(
-            MortgageAdjustmentRequestDto request,
+            Mortgage mortgage,
             BigDecimal approvedReduction
     ) {
-        // Get mortgage details
-        Mortgage mortgage = mortgageRepository.findByAccountNumber(request.getMortgageAccountNumber())
-                .orElseThrow(() -> new RuntimeException("Mortgage not found"));
-
         // Simple interest calculation for demonstration
         BigDecimal monthlyInterestRate = mortgage.getInterestRate()
                 .divide(BigDecimal.valueOf(100), 6, RoundingMode.HALF_UP)
@@ -385,17 +590,13 @@ public class MortgageAdjustmentServiceImpl implements MortgageAdjustmentService
         return "Adjustment request could not be processed";
     }
 
-    private BigDecimal calculateMaxReduction(String userId) {
-        // Get mortgage details
-        List<Mortgage> userMortgages = mortgageRepository.findByUserId(userId);
-        if (userMortgages.isEmpty()) {
+    private BigDecimal calculateMaxReduction(AdjustmentEvaluationContext context) {
+        if (context.getMortgages().isEmpty()) {
             return BigDecimal.ZERO;
         }
 
         // Use first active mortgage for calculation
-        Mortgage activeMortgage = userMortgages.stream()
-                .filter(m -> m.getIsActive())
-                .findFirst()
+        Mortgage activeMortgage = context.findFirstActiveMortgage()
                 .orElseThrow(() -> new RuntimeException("No active mortgages found"));
 
         // Calculate maximum reduction (e.g., 30% of current payment)
@@ -403,11 +604,12 @@ public class MortgageAdjustmentServiceImpl implements MortgageAdjustmentService
                 .setScale(2, RoundingMode.HALF_UP);
     }
 
-    private MortgageAdjustmentResponseDto convertToResponseDto(MortgageAdjustment adjustment) {
-        // Get the mortgage
-        Mortgage mortgage = mortgageRepository.findById(adjustment.getMortgageId())
-                .orElseThrow(() -> new RuntimeException("Mortgage not found"));
+    private Map<String, Mortgage> findMortgagesById(String userId) {
+        return mortgageRepository.findByUserId(userId).stream()
+                .collect(Collectors.toMap(Mortgage::getId, Function.identity()));
+    }
 
+    private MortgageAdjustmentResponseDto convertToResponseDto(MortgageAdjustment adjustment, Mortgage mortgage) {
         // Convert status
         AdjustmentStatus status = switch (adjustment.getStatus()) {
             case APPROVED -> AdjustmentStatus.APPROVED;
@@ -466,11 +668,12 @@ public class MortgageAdjustmentServiceImpl implements MortgageAdjustmentService
         }
     }
 
-    private MortgageAdjustmentRequestDto.RepaymentStrategy determineOptimalRepaymentStrategy(String userId) {
-        // Get financial profile to determine optimal strategy
-        double stabilityScore = userFinancialProfileRepository.findByUserId(userId)
-                .map(profile -> profile.getFinancialStabilityScore())
-                .orElse(0.5);
+    private MortgageAdjustmentRequestDto.RepaymentStrategy determineOptimalRepaymentStrategy(
+            UserFinancialProfile profile) {
+        // Use financial profile to determine optimal strategy
+        double stabilityScore = profile.getFinancialStabilityScore() != null
+                ? profile.getFinancialStabilityScore()
+                : 0.5;
 
         // Higher stability suggests more aggressive repayment
         if (stabilityScore > 0.7) {
@@ -482,91 +685,33 @@ public class MortgageAdjustmentServiceImpl implements MortgageAdjustmentService
         }
     }
 
-    private int calculateLoanTermImpact(BigDecimal reductionAmount, int durationMonths) {
-        // Simple estimate - more sophisticated calculation would consider
-        // current loan balance, interest rate, etc.
-        BigDecimal totalReduction = reductionAmount.multiply(BigDecimal.valueOf(durationMonths));
-        return totalReduction.divide(BigDecimal.valueOf(1000), 0, RoundingMode.UP).intValue();
+    private int calculateLoanTermImpact(Mortgage mortgage, BigDecimal reductionAmount, int durationMonths) {
+        return termExtensionSolver.additionalMonths(
+                AmortizationEngine.toMinorUnits(mortgage.getCurrentBalance()),
+                amortizationEngine.monthlyRateMicros(mortgage.getInterestRate()),
+                AmortizationEngine.toMinorUnits(mortgage.getMonthlyPayment()),
+                AmortizationEngine.toMinorUnits(reductionAmount),
+                durationMonths);
     }
 
     private BigDecimal calculateAdditionalInterestForDeferral(
             BigDecimal deferredAmount, BigDecimal interestRate, int remainingTermMonths) {
         // Simple calculation for demonstration
-        BigDecimal annualRate = interestRate.divide(BigDecimal.valueOf(100), 6, RoundingMode.HALF_UP);
-        BigDecimal monthlyRate = annualRate.divide(BigDecimal.valueOf(12), 6, RoundingMode.HALF_UP);
+        long additionalInterest = amortizationEngine.deferralInterest(
+                AmortizationEngine.toMinorUnits(deferredAmount),
+                amortizationEngine.monthlyRateMicros(interestRate),
+                remainingTermMonths);
 
-        return deferredAmount.multiply(monthlyRate)
-                .multiply(BigDecimal.valueOf(remainingTermMonths))
-                .divide(BigDecimal.valueOf(2), 2, RoundingMode.HALF_UP);
+        return AmortizationEngine.fromMinorUnits(additionalInterest);
     }
 
-    private BigDecimal calculatePostAdjustmentPayment(
-            Mortgage mortgage, BigDecimal reductionAmount, int durationMonths) {
-        // Calculate total deferred amount
-        BigDecimal totalDeferred = reductionAmount.multiply(BigDecimal.valueOf(durationMonths));
-
-        // Calculate additional monthly payment needed to recover deferred amount
-        // (simplified - spreading over 12 months after adjustment period)
-        BigDecimal additionalMonthly = totalDeferred.divide(BigDecimal.valueOf(12), 2, RoundingMode.HALF_UP);
-
-        // Post-adjustment payment is original payment plus additional amount
-        return mortgage.getMonthlyPayment().add(additionalMonthly);
-    }
-
-    private List<MonthlyProjection> generateMonthlyProjections(
-            Mortgage mortgage, LocalDate startDate, int durationMonths,
-            BigDecimal adjustedPayment, BigDecimal postAdjustmentPayment) {
-
-        List<MonthlyProjection> projections = new ArrayList<>();
-        BigDecimal interestRate = mortgage.getInterestRate()
-                .divide(BigDecimal.valueOf(100), 6, RoundingMode.HALF_UP)
-                .divide(BigDecimal.valueOf(12), 6, RoundingMode.HALF_UP);
-
-        // Current mortgage balance
-        BigDecimal currentBalance = mortgage.getCurrentBalance();
-
-        // Generate projections for reduced payment period
-        for (int i = 0; i < durationMonths; i++) {
-            LocalDate month = startDate.plusMonths(i);
-            BigDecimal interestPortion = currentBalance.multiply(interestRate)
-                    .setScale(2, RoundingMode.HALF_UP);
-            BigDecimal principalPortion = adjustedPayment.subtract(interestPortion);
-
-            // Ensure principal portion is not negative
-            if (principalPortion.signum() < 0) {
-                principalPortion = BigDecimal.ZERO;
-            }
-
-            projections.add(MonthlyProjection.builder()
-                    .month(month)
-                    .projectedPayment(adjustedPayment)
-                    .principalPortion(principalPortion)
-                    .interestPortion(interestPortion)
-                    .build());
-
-            // Update balance for next iteration
-            currentBalance = currentBalance.subtract(principalPortion);
-        }
-
-        // Generate projections for post-adjustment period (3 months)
-        for (int i = 0; i < 3; i++) {
-            LocalDate month = startDate.plusMonths(durationMonths + i);
-            BigDecimal interestPortion = currentBalance.multiply(interestRate)
-                    .setScale(2, RoundingMode.HALF_UP);
-            BigDecimal principalPortion = postAdjustmentPayment.subtract(interestPortion);
-
-            projections.add(MonthlyProjection.builder()
-                    .month(month)
-                    .projectedPayment(postAdjustmentPayment)
-                    .principalPortion(principalPortion)
-                    .interestPortion(interestPortion)
-                    .build());
-
-            // Update balance for next iteration
-            currentBalance = currentBalance.subtract(principalPortion);
-        }
-
-        return projections;
+    private AmortizationEngine.MonthSink projectionCollector(LocalDate startDate, List<MonthlyProjection> projections) {
+        return (monthIndex, payment, principal, interest, balanceAfter) -> projections.add(MonthlyProjection.builder()
+                .month(startDate.plusMonths(monthIndex))
+                .projectedPayment(AmortizationEngine.fromMinorUnits(payment))
+                .principalPortion(AmortizationEngine.fromMinorUnits(principal))
+                .interestPortion(AmortizationEngine.fromMinorUnits(interest))
+                .build());
     }
 
     private List<String> generateImprovementSuggestions(AdjustmentSimulationRequestDto request, double riskScore) {
@@ -618,50 +763,34 @@ public class MortgageAdjustmentServiceImpl implements MortgageAdjustmentService
     private MortgageAdjustmentResponseDto.RepaymentBreakdown calculateRepaymentBreakdown(
             Mortgage mortgage, BigDecimal approvedReduction, BigDecimal additionalInterest) {
 
-        // Calculate remaining principal
-        BigDecimal remainingPrincipal = mortgage.getCurrentBalance();
-
         // Calculate total interest impact
         BigDecimal totalInterestImpact = additionalInterest.multiply(
                 BigDecimal.valueOf(mortgage.getRemainingTermMonths()));
 
-        // Estimate additional months
-        int additionalMonths = approvedReduction.divide(
-                mortgage.getMonthlyPayment(), 0, RoundingMode.UP).intValue();
+        // Additional months caused by reducing a single month's payment
+        int additionalMonths = calculateLoanTermImpact(mortgage, approvedReduction, 1);
+        boolean repayable = additionalMonths != TermExtensionSolver.NOT_REPAYABLE;
 
         // Calculate projected loan completion date
-        LocalDate projectedCompletionDate = LocalDate.now().plusMonths(
-                mortgage.getRemainingTermMonths() + additionalMonths);
+        LocalDate projectedCompletionDate = repayable
+                ? LocalDate.now().plusMonths(mortgage.getRemainingTermMonths() + additionalMonths)
+                : null;
 
         // Generate monthly projections (simplified for demo)
-        List<MonthlyProjection> monthlyProjections = new ArrayList<>();
-        LocalDate currentMonth = LocalDate.now();
-        BigDecimal interestRate = mortgage.getInterestRate()
-                .divide(BigDecimal.valueOf(100), 6, RoundingMode.HALF_UP)
-                .divide(BigDecimal.valueOf(12), 6, RoundingMode.HALF_UP);
-
-        // Add a few sample projections
-        for (int i = 0; i < 3; i++) {
-            LocalDate month = currentMonth.plusMonths(i);
-            BigDecimal monthlyInterest = remainingPrincipal.multiply(interestRate);
-            BigDecimal principalPortion = mortgage.getMonthlyPayment().subtract(monthlyInterest);
-
-            monthlyProjections.add(MonthlyProjection.builder()
-                    .month(month)
-                    .projectedPayment(mortgage.getMonthlyPayment())
-                    .principalPortion(principalPortion)
-                    .interestPortion(monthlyInterest)
-                    .build());
-
-            // Update remaining principal for next month
-            remainingPrincipal = remainingPrincipal.subtract(principalPortion);
-        }
+        List<MonthlyProjection> monthlyProjections = new ArrayList<>(BREAKDOWN_PROJECTION_MONTHS);
+        amortizationEngine.amortize(
+                AmortizationEngine.toMinorUnits(mortgage.getCurrentBalance()),
+                amortizationEngine.monthlyRateMicros(mortgage.getInterestRate()),
+                AmortizationEngine.toMinorUnits(mortgage.getMonthlyPayment()),
+                0, BREAKDOWN_PROJECTION_MONTHS, false,
+                projectionCollector(LocalDate.now(), monthlyProjections));
 
         return MortgageAdjustmentResponseDto.RepaymentBreakdown.builder()
                 .remainingPrincipal(mortgage.getCurrentBalance())
                 .totalInterestImpact(totalInterestImpact)
                 .projectedLoanCompletionDate(projectedCompletionDate)
                 .additionalMonths(additionalMonths)
+                .loanRepayable(repayable)
                 .monthlyProjections(monthlyProjections)
                 .build();
     }
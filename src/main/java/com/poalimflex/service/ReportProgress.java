@@ -0,0 +1,14 @@
+package com.poalimflex.service;
+
+/**
+ * Receives the progress of a report that is computed in steps
+ */
+@FunctionalInterface
+public interface ReportProgress {
+    ReportProgress NONE = (completedSteps, totalSteps) -> { };
+
+    /**
+     * Called after each completed step, and once with no completed steps when the step count is known
+     */
+    void update(int completedSteps, int totalSteps);
+}
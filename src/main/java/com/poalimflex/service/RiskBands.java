@@ -0,0 +1,34 @@
+package com.poalimflex.service;
+
+/**
+ * Payment difficulty bands shared by the portfolio risk reports
+ */
+public final class RiskBands {
+    public static final String[] NAMES = {
+            "Low Risk (0.0-0.3)",
+            "Moderate Risk (0.3-0.6)",
+            "High Risk (0.6-0.9)",
+            "Very High Risk (0.9-1.0)"
+    };
+
+    /**
+     * Index of the first band considered high risk
+     */
+    public static final int HIGH_RISK = 2;
+
+    private RiskBands() {
+    }
+
+    /**
+     * Index into {@link #NAMES} of the band a payment difficulty probability falls in
+     */
+    public static int of(double paymentDifficulty) {
+        if (paymentDifficulty < 0.3) {
+            return 0;
+        }
+        if (paymentDifficulty < 0.6) {
+            return 1;
+        }
+        return paymentDifficulty < 0.9 ? 2 : 3;
+    }
+}
@@ -0,0 +1,168 @@
+package com.poalimflex.service.amortization;
+
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point amortization arithmetic. Amounts are {@code long} minor units (agorot) and monthly rates
+ * are {@code long} millionths, matching the scale-6 monthly rate the BigDecimal code derives from the
+ * annual percentage. Every product is rounded back to minor units with {@link RoundingMode#HALF_UP}
+ * (half away from zero), so results equal the BigDecimal computation to the agora while the monthly
+ * loop allocates nothing. Callers convert to {@link BigDecimal} only at the edge.
+ */
+@Component
+public class AmortizationEngine {
+    public static final long RATE_SCALE = 1_000_000L;
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal MONTHS_PER_YEAR = BigDecimal.valueOf(12);
+    private static final BigDecimal RATE_DIVISOR = BigDecimal.valueOf(RATE_SCALE);
+
+    /**
+     * Receives one amortized month. Called once per month with primitive values only.
+     */
+    @FunctionalInterface
+    public interface MonthSink {
+        void accept(int monthIndex, long payment, long principal, long interest, long balanceAfter);
+    }
+
+    /**
+     * Convert an amount to minor units, rounding to the agora
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromMinorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, 2);
+    }
+
+    /**
+     * Monthly rate in millionths for an annual percentage rate, rounded exactly as
+     * {@code rate / 100 (scale 6, HALF_UP) / 12 (scale 6, HALF_UP)}
+     */
+    public long monthlyRateMicros(BigDecimal annualRatePercent) {
+        return annualRatePercent
+                .divide(ONE_HUNDRED, 6, RoundingMode.HALF_UP)
+                .divide(MONTHS_PER_YEAR, 6, RoundingMode.HALF_UP)
+                .unscaledValue().longValueExact();
+    }
+
+    /**
+     * Interest accrued on a balance for one month, rounded to the agora
+     */
+    public long monthlyInterest(long balance, long monthlyRateMicros) {
+        return divideHalfUp(Math.multiplyExact(balance, monthlyRateMicros), RATE_SCALE);
+    }
+
+    /**
+     * Simplified interest on a deferred amount: {@code deferred * monthlyRate * months / 2}, rounded once
+     */
+    public long deferralInterest(long deferredAmount, long monthlyRateMicros, int months) {
+        long scaled = Math.multiplyExact(Math.multiplyExact(deferredAmount, monthlyRateMicros), (long) months);
+        return divideHalfUp(scaled, 2 * RATE_SCALE);
+    }
+
+    /**
+     * Amortize a fixed payment over consecutive months
+     *
+     * @param balance Opening balance in minor units
+     * @param monthlyRateMicros Monthly rate in millionths
+     * @param payment Monthly payment in minor units
+     * @param firstMonthIndex Index passed to the sink for the first month
+     * @param months Number of months to amortize
+     * @param floorPrincipalAtZero Whether a payment below the interest due repays no principal instead of
+     *                             adding to the balance
+     * @param sink Receiver of every month, may be null
+     * @return Balance after the last month
+     */
+    public long amortize(long balance, long monthlyRateMicros, long payment, int firstMonthIndex, int months,
+                         boolean floorPrincipalAtZero, MonthSink sink) {
+        for (int i = 0; i < months; i++) {
+            long interest = monthlyInterest(balance, monthlyRateMicros);
+            long principal = payment - interest;
+            if (floorPrincipalAtZero && principal < 0) {
+                principal = 0;
+            }
+
+            balance -= principal;
+            if (sink != null) {
+                sink.accept(firstMonthIndex + i, payment, principal, interest, balance);
+            }
+        }
+        return balance;
+    }
+
+    /**
+     * Total interest paid until a balance is repaid with a level payment, the final payment settling
+     * whatever is left
+     *
+     * @param maxMonths Upper bound on the months amortized, for payments that never repay the balance
+     */
+    public long interestUntilRepaid(long balance, long monthlyRateMicros, long payment, int maxMonths) {
+        long totalInterest = 0;
+        for (int i = 0; i < maxMonths && balance > 0; i++) {
+            long interest = monthlyInterest(balance, monthlyRateMicros);
+            totalInterest += interest;
+            balance -= Math.min(payment - interest, balance);
+        }
+        return totalInterest;
+    }
+
+    /**
+     * Balance after {@code months} level payments, using the closed-form annuity formula
+     * {@code B(k) = B(0)(1+r)^k - P((1+r)^k - 1)/r} instead of iterating. The cost does not depend on
+     * {@code months}. The result is rounded to the agora once, whereas a month-by-month amortization rounds
+     * every month's interest, so the two can drift apart by up to about a shekel over a 30-year term.
+     *
+     * @return Balance in minor units, never negative
+     */
+    public long balanceAfter(long balance, long monthlyRateMicros, long payment, int months) {
+        if (months <= 0) {
+            return balance;
+        }
+        if (monthlyRateMicros == 0) {
+            return Math.max(0, balance - Math.multiplyExact(payment, (long) months));
+        }
+
+        BigDecimal rate = BigDecimal.valueOf(monthlyRateMicros).divide(RATE_DIVISOR, MathContext.DECIMAL128);
+        BigDecimal growth = BigDecimal.ONE.add(rate).pow(months, MathContext.DECIMAL128);
+        BigDecimal remaining = BigDecimal.valueOf(balance).multiply(growth, MathContext.DECIMAL128)
+                .subtract(BigDecimal.valueOf(payment)
+                        .multiply(growth.subtract(BigDecimal.ONE), MathContext.DECIMAL128)
+                        .divide(rate, MathContext.DECIMAL128));
+
+        return Math.max(0, remaining.setScale(0, RoundingMode.HALF_UP).longValueExact());
+    }
+
+    /**
+     * Level monthly payment that repays {@code balance} over {@code months}, from the annuity formula
+     * {@code P = B * r / (1 - (1+r)^-n)} evaluated in floating point and rounded to the agora
+     */
+    public long levelPayment(long balance, long monthlyRateMicros, int months) {
+        if (months <= 0) {
+            return balance;
+        }
+        if (monthlyRateMicros == 0) {
+            return divideHalfUp(balance, months);
+        }
+
+        double rate = (double) monthlyRateMicros / RATE_SCALE;
+        return Math.round(balance * rate / (1 - Math.pow(1 + rate, -months)));
+    }
+
+    /**
+     * Integer division rounding half away from zero, for a positive divisor
+     */
+    public static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) * 2 >= divisor) {
+            quotient += Long.signum(dividend);
+        }
+        return quotient;
+    }
+}
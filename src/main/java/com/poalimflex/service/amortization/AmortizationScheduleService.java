@@ -0,0 +1,23 @@
+package com.poalimflex.service.amortization;
+
+import com.poalimflex.dto.AmortizationScheduleEntryDto;
+import com.poalimflex.repository.projection.MortgageSummaryView;
+
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Service for full-term mortgage amortization schedules
+ */
+public interface AmortizationScheduleService {
+    /**
+     * Emit, in payment order, the installments of a mortgage whose payment date falls inside the window.
+     * Installments before the window are skipped with the closed-form balance, so the cost depends only
+     * on the number of installments emitted.
+     *
+     * @param fromDate First payment date to include, or null to start at the next payment
+     * @param toDate Last payment date to include, or null to run to the end of the term
+     */
+    void streamSchedule(MortgageSummaryView mortgage, LocalDate fromDate, LocalDate toDate,
+                        Consumer<AmortizationScheduleEntryDto> consumer);
+}
@@ -0,0 +1,70 @@
+package com.poalimflex.service.amortization;
+
+import com.poalimflex.dto.AmortizationScheduleEntryDto;
+import com.poalimflex.repository.projection.MortgageSummaryView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.function.Consumer;
+
+@Service
+@RequiredArgsConstructor
+public class AmortizationScheduleServiceImpl implements AmortizationScheduleService {
+    private final AmortizationEngine amortizationEngine;
+
+    @Override
+    public void streamSchedule(MortgageSummaryView mortgage, LocalDate fromDate, LocalDate toDate,
+                               Consumer<AmortizationScheduleEntryDto> consumer) {
+        Integer remainingTerm = mortgage.getRemainingTermMonths();
+        LocalDate firstPaymentDate = mortgage.getNextPaymentDate();
+        if (remainingTerm == null || remainingTerm <= 0 || firstPaymentDate == null) {
+            return;
+        }
+
+        // Installment k (0-based) is due on firstPaymentDate + k months
+        int lastInstallment = remainingTerm - 1;
+        int firstInstallment = fromDate != null ? firstInstallmentOnOrAfter(firstPaymentDate, fromDate) : 0;
+        if (toDate != null) {
+            lastInstallment = (int) Math.min(lastInstallment, ChronoUnit.MONTHS.between(firstPaymentDate, toDate));
+        }
+        if (firstInstallment > lastInstallment) {
+            return;
+        }
+
+        long monthlyRate = amortizationEngine.monthlyRateMicros(mortgage.getInterestRate());
+        long payment = AmortizationEngine.toMinorUnits(mortgage.getMonthlyPayment());
+        long balance = amortizationEngine.balanceAfter(
+                AmortizationEngine.toMinorUnits(mortgage.getCurrentBalance()), monthlyRate, payment, firstInstallment);
+
+        for (int k = firstInstallment; k <= lastInstallment && balance > 0; k++) {
+            long interest = amortizationEngine.monthlyInterest(balance, monthlyRate);
+            long principal = payment - interest;
+
+            // The final installment settles whatever is left
+            if (k == remainingTerm - 1 || principal > balance) {
+                principal = balance;
+            }
+            balance -= principal;
+
+            consumer.accept(AmortizationScheduleEntryDto.builder()
+                    .installmentNumber(k + 1)
+                    .paymentDate(firstPaymentDate.plusMonths(k))
+                    .paymentAmount(AmortizationEngine.fromMinorUnits(principal + interest))
+                    .principalPortion(AmortizationEngine.fromMinorUnits(principal))
+                    .interestPortion(AmortizationEngine.fromMinorUnits(interest))
+                    .remainingBalance(AmortizationEngine.fromMinorUnits(balance))
+                    .build());
+        }
+    }
+
+    private int firstInstallmentOnOrAfter(LocalDate firstPaymentDate, LocalDate fromDate) {
+        if (!fromDate.isAfter(firstPaymentDate)) {
+            return 0;
+        }
+
+        int months = (int) ChronoUnit.MONTHS.between(firstPaymentDate, fromDate);
+        return firstPaymentDate.plusMonths(months).isBefore(fromDate) ? months + 1 : months;
+    }
+}
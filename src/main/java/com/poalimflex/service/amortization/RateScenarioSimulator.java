@@ -0,0 +1,291 @@
+package com.poalimflex.service.amortization;
+
+import com.poalimflex.entity.Mortgage;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Monte Carlo simulation of an adjustment under random interest rate paths, for mortgages whose rate is
+ * not fixed. The annual rate follows a mean-reverting (Vasicek) walk around the current rate, stepped
+ * monthly after an optional fixed-rate period and floored at zero. Whenever the rate changes the payment is
+ * re-amortized over the months left.
+ *
+ * <p>Each path amortizes the loan with and without the reduction side by side on the same rates, using
+ * the fixed-point {@link AmortizationEngine} arithmetic on primitive buffers that are reused across paths.
+ * Paths are split across the {@code simulationSweepPool}; every task gets its own {@link SplittableRandom}
+ * split off its parent before forking, so a seed reproduces the same result however the work is scheduled.
+ */
+@Component
+public class RateScenarioSimulator {
+    /**
+     * Paths simulated sequentially by one task before the work is split further
+     */
+    private static final int PATHS_PER_TASK = 256;
+
+    private static final double MONTH = 1.0 / 12;
+    private static final double SQRT_MONTH = Math.sqrt(MONTH);
+
+    private final AmortizationEngine amortizationEngine;
+    private final ForkJoinPool simulationPool;
+    private final double annualVolatility;
+    private final double meanReversion;
+    private final int hybridFixedPeriodMonths;
+
+    public RateScenarioSimulator(
+            AmortizationEngine amortizationEngine,
+            @Qualifier("simulationSweepPool") ForkJoinPool simulationPool,
+            @Value("${poalim.flex.rate-scenarios.annual-volatility:1.0}") double annualVolatility,
+            @Value("${poalim.flex.rate-scenarios.mean-reversion:0.1}") double meanReversion,
+            @Value("${poalim.flex.rate-scenarios.hybrid-fixed-period-months:60}") int hybridFixedPeriodMonths) {
+        this.amortizationEngine = amortizationEngine;
+        this.simulationPool = simulationPool;
+        this.annualVolatility = annualVolatility;
+        this.meanReversion = meanReversion;
+        this.hybridFixedPeriodMonths = hybridFixedPeriodMonths;
+    }
+
+    /**
+     * Simulate a reduction of {@code reductionAmount} for {@code reducedMonths} months on a variable rate or
+     * hybrid mortgage. A hybrid mortgage keeps its rate until the configured fixed period since the loan
+     * started has passed.
+     *
+     * @throws IllegalArgumentException if the mortgage has a fixed rate
+     */
+    public ScenarioPercentiles simulate(Mortgage mortgage, BigDecimal reductionAmount, int reducedMonths,
+                                        int paths, long seed) {
+        return simulate(
+                AmortizationEngine.toMinorUnits(mortgage.getCurrentBalance()),
+                mortgage.getInterestRate().doubleValue(),
+                AmortizationEngine.toMinorUnits(mortgage.getMonthlyPayment()),
+                mortgage.getRemainingTermMonths(),
+                fixedRateMonths(mortgage),
+                AmortizationEngine.toMinorUnits(reductionAmount),
+                reducedMonths,
+                paths,
+                seed);
+    }
+
+    /**
+     * Leading months of the remaining term during which the mortgage rate cannot change
+     */
+    public int fixedRateMonths(Mortgage mortgage) {
+        if (mortgage.getMortgageType() == Mortgage.MortgageType.VARIABLE_RATE) {
+            return 0;
+        }
+        if (mortgage.getMortgageType() == Mortgage.MortgageType.HYBRID) {
+            int elapsedMonths = mortgage.getOriginalLoanTermMonths() != null
+                    ? mortgage.getOriginalLoanTermMonths() - mortgage.getRemainingTermMonths()
+                    : 0;
+            return Math.max(0, hybridFixedPeriodMonths - elapsedMonths);
+        }
+        throw new IllegalArgumentException("Rate scenarios apply only to variable rate and hybrid mortgages");
+    }
+
+    /**
+     * Simulate the adjustment on {@code paths} rate paths
+     *
+     * @param balance Current balance in minor units
+     * @param annualRatePercent Current annual rate in percent, also the long-term mean of the walk
+     * @param payment Current monthly payment in minor units
+     * @param remainingMonths Months left on the loan
+     * @param fixedMonths Leading months during which the rate cannot change
+     * @param reduction Monthly payment reduction in minor units
+     * @param reducedMonths Months during which the payment is reduced
+     * @param paths Number of rate paths
+     * @param seed Seed of the root random generator
+     * @return Percentiles in minor units
+     */
+    public ScenarioPercentiles simulate(long balance, double annualRatePercent, long payment, int remainingMonths,
+                                        int fixedMonths, long reduction, int reducedMonths, int paths, long seed) {
+        long[] adjustedPayments = new long[paths];
+        long[] additionalInterest = new long[paths];
+        Scenario scenario = new Scenario(balance, annualRatePercent, payment, remainingMonths,
+                Math.min(fixedMonths, remainingMonths), reduction, Math.min(reducedMonths, remainingMonths));
+
+        simulationPool.invoke(new PathsTask(scenario, new SplittableRandom(seed),
+                adjustedPayments, additionalInterest, 0, paths));
+
+        return new ScenarioPercentiles(Percentiles.of(adjustedPayments), Percentiles.of(additionalInterest));
+    }
+
+    /**
+     * Generate one rate path into {@code monthlyRates} (millionths) and the matching annuity factors
+     * {@code r / (1 - (1 + r)^-(monthsLeft))} into {@code annuityFactors}
+     */
+    private void generatePath(Scenario scenario, SplittableRandom random, long[] monthlyRates, double[] annuityFactors) {
+        double rate = scenario.annualRatePercent;
+        long monthlyRate = scenario.initialMonthlyRate;
+
+        for (int month = 0; month < scenario.remainingMonths; month++) {
+            if (month >= scenario.fixedMonths && month > 0) {
+                rate += meanReversion * (scenario.annualRatePercent - rate) * MONTH
+                        + annualVolatility * SQRT_MONTH * random.nextGaussian();
+                rate = Math.max(0, rate);
+                // percent per year to millionths per month: rate / 100 / 12 * 1_000_000
+                monthlyRate = Math.round(rate * 10_000 * MONTH);
+            }
+            monthlyRates[month] = monthlyRate;
+
+            int monthsLeft = scenario.remainingMonths - month;
+            double r = (double) monthlyRate / AmortizationEngine.RATE_SCALE;
+            annuityFactors[month] = r == 0 ? 1.0 / monthsLeft : r / (1 - Math.pow(1 + r, -monthsLeft));
+        }
+    }
+
+    /**
+     * Amortize the remaining term on one rate path with and without the reduction, side by side. Both
+     * loans re-amortize on every rate change; when the reduction period ends the adjusted loan pays the
+     * unadjusted payment plus the deferred balance spread over the months left.
+     *
+     * @param out Receives the average reduced payment in element 0 and the additional interest in element 1
+     */
+    private void amortizePath(Scenario scenario, long[] monthlyRates, double[] annuityFactors, long[] out) {
+        long baselineBalance = scenario.balance;
+        long baselinePayment = scenario.payment;
+        long baselineInterest = 0;
+        long adjustedBalance = scenario.balance;
+        long adjustedPayment = scenario.payment;
+        long adjustedInterest = 0;
+        long reducedTotal = 0;
+        int lastMonth = scenario.remainingMonths - 1;
+
+        for (int month = 0; month <= lastMonth && (baselineBalance > 0 || adjustedBalance > 0); month++) {
+            long monthlyRate = monthlyRates[month];
+            if (month > 0 && monthlyRate != monthlyRates[month - 1]) {
+                baselinePayment = Math.round(baselineBalance * annuityFactors[month]);
+                adjustedPayment = Math.round(adjustedBalance * annuityFactors[month]);
+            } else if (month > 0 && month == scenario.reducedMonths) {
+                adjustedPayment = baselinePayment
+                        + Math.round((adjustedBalance - baselineBalance) * annuityFactors[month]);
+            }
+
+            if (baselineBalance > 0) {
+                long interest = amortizationEngine.monthlyInterest(baselineBalance, monthlyRate);
+                long paid = month == lastMonth
+                        ? baselineBalance + interest
+                        : Math.min(baselinePayment, baselineBalance + interest);
+                baselineBalance -= paid - interest;
+                baselineInterest += interest;
+            }
+
+            if (adjustedBalance > 0) {
+                long interest = amortizationEngine.monthlyInterest(adjustedBalance, monthlyRate);
+                long due = month < scenario.reducedMonths ? adjustedPayment - scenario.reduction : adjustedPayment;
+                long paid = month == lastMonth
+                        ? adjustedBalance + interest
+                        : Math.min(due, adjustedBalance + interest);
+                adjustedBalance -= paid - interest;
+                adjustedInterest += interest;
+                if (month < scenario.reducedMonths) {
+                    reducedTotal += paid;
+                }
+            }
+        }
+
+        out[0] = scenario.reducedMonths > 0
+                ? AmortizationEngine.divideHalfUp(reducedTotal, scenario.reducedMonths)
+                : scenario.payment;
+        out[1] = adjustedInterest - baselineInterest;
+    }
+
+    /**
+     * 5th, 50th and 95th percentile in minor units
+     */
+    public record Percentiles(long p5, long p50, long p95) {
+        /**
+         * Nearest-rank percentiles; sorts {@code values} in place
+         */
+        static Percentiles of(long[] values) {
+            Arrays.sort(values);
+            return new Percentiles(rank(values, 0.05), rank(values, 0.50), rank(values, 0.95));
+        }
+
+        private static long rank(long[] sorted, double percentile) {
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)];
+        }
+    }
+
+    /**
+     * Percentiles of the average reduced payment and of the additional interest across all paths
+     */
+    public record ScenarioPercentiles(Percentiles adjustedPayment, Percentiles additionalInterest) {
+    }
+
+    private static final class Scenario {
+        private final long balance;
+        private final double annualRatePercent;
+        private final long initialMonthlyRate;
+        private final long payment;
+        private final int remainingMonths;
+        private final int fixedMonths;
+        private final long reduction;
+        private final int reducedMonths;
+
+        Scenario(long balance, double annualRatePercent, long payment, int remainingMonths, int fixedMonths,
+                 long reduction, int reducedMonths) {
+            this.balance = balance;
+            this.annualRatePercent = annualRatePercent;
+            this.initialMonthlyRate = Math.round(annualRatePercent * 10_000 * MONTH);
+            this.payment = payment;
+            this.remainingMonths = remainingMonths;
+            this.fixedMonths = fixedMonths;
+            this.reduction = reduction;
+            this.reducedMonths = reducedMonths;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private final class PathsTask extends RecursiveAction {
+        private final Scenario scenario;
+        private final SplittableRandom random;
+        private final long[] adjustedPayments;
+        private final long[] additionalInterest;
+        private final int fromPath;
+        private final int toPath;
+
+        PathsTask(Scenario scenario, SplittableRandom random, long[] adjustedPayments, long[] additionalInterest,
+                  int fromPath, int toPath) {
+            this.scenario = scenario;
+            this.random = random;
+            this.adjustedPayments = adjustedPayments;
+            this.additionalInterest = additionalInterest;
+            this.fromPath = fromPath;
+            this.toPath = toPath;
+        }
+
+        @Override
+        protected void compute() {
+            if (toPath - fromPath <= PATHS_PER_TASK) {
+                simulatePaths();
+                return;
+            }
+
+            int middle = (fromPath + toPath) >>> 1;
+            SplittableRandom upperRandom = random.split();
+            invokeAll(
+                    new PathsTask(scenario, random, adjustedPayments, additionalInterest, fromPath, middle),
+                    new PathsTask(scenario, upperRandom, adjustedPayments, additionalInterest, middle, toPath));
+        }
+
+        private void simulatePaths() {
+            long[] monthlyRates = new long[scenario.remainingMonths];
+            double[] annuityFactors = new double[scenario.remainingMonths];
+            long[] out = new long[2];
+
+            for (int path = fromPath; path < toPath; path++) {
+                generatePath(scenario, random, monthlyRates, annuityFactors);
+                amortizePath(scenario, monthlyRates, annuityFactors, out);
+                adjustedPayments[path] = out[0];
+                additionalInterest[path] = out[1];
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.poalimflex.service.amortization;
+
+import com.poalimflex.entity.Mortgage;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Evaluates simulation grids of reduction amount x duration on the bounded {@code simulationSweepPool}.
+ * The grid is split by rows of reduction amounts; each cell is pure primitive arithmetic on the mortgage
+ * inputs converted once up front.
+ */
+@Component
+public class SimulationSweepEvaluator {
+    /**
+     * Rows evaluated sequentially by one task before the work is split further
+     */
+    private static final int ROWS_PER_TASK = 4;
+
+    private final AmortizationEngine amortizationEngine;
+    private final TermExtensionSolver termExtensionSolver;
+    private final ForkJoinPool sweepPool;
+
+    public SimulationSweepEvaluator(
+            AmortizationEngine amortizationEngine,
+            TermExtensionSolver termExtensionSolver,
+            @Qualifier("simulationSweepPool") ForkJoinPool sweepPool) {
+        this.amortizationEngine = amortizationEngine;
+        this.termExtensionSolver = termExtensionSolver;
+        this.sweepPool = sweepPool;
+    }
+
+    /**
+     * Fill the additional interest and term impact matrices, indexed [reduction][duration]
+     */
+    public SweepMatrices evaluate(Mortgage mortgage, List<BigDecimal> reductionAmounts, List<Integer> durations) {
+        long balance = AmortizationEngine.toMinorUnits(mortgage.getCurrentBalance());
+        long monthlyRate = amortizationEngine.monthlyRateMicros(mortgage.getInterestRate());
+        long payment = AmortizationEngine.toMinorUnits(mortgage.getMonthlyPayment());
+        int remainingTerm = mortgage.getRemainingTermMonths();
+
+        long[] reductions = reductionAmounts.stream().mapToLong(AmortizationEngine::toMinorUnits).toArray();
+        int[] months = durations.stream().mapToInt(Integer::intValue).toArray();
+        BigDecimal[][] additionalInterest = new BigDecimal[reductions.length][months.length];
+        int[][] loanTermImpact = new int[reductions.length][months.length];
+
+        sweepPool.invoke(new RowsTask(row -> {
+            for (int column = 0; column < months.length; column++) {
+                long deferred = Math.multiplyExact(reductions[row], (long) months[column]);
+                additionalInterest[row][column] = AmortizationEngine.fromMinorUnits(
+                        amortizationEngine.deferralInterest(deferred, monthlyRate, remainingTerm));
+                loanTermImpact[row][column] = termExtensionSolver.additionalMonths(
+                        balance, monthlyRate, payment, reductions[row], months[column]);
+            }
+        }, 0, reductions.length));
+
+        return new SweepMatrices(additionalInterest, loanTermImpact);
+    }
+
+    /**
+     * Evaluated matrices, indexed [reduction][duration]
+     */
+    public record SweepMatrices(BigDecimal[][] additionalInterest, int[][] loanTermImpact) {
+    }
+
+    @SuppressWarnings("serial")
+    private static final class RowsTask extends RecursiveAction {
+        private final IntConsumer rowEvaluator;
+        private final int fromRow;
+        private final int toRow;
+
+        RowsTask(IntConsumer rowEvaluator, int fromRow, int toRow) {
+            this.rowEvaluator = rowEvaluator;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRow - fromRow <= ROWS_PER_TASK) {
+                for (int row = fromRow; row < toRow; row++) {
+                    rowEvaluator.accept(row);
+                }
+                return;
+            }
+
+            int middle = (fromRow + toRow) >>> 1;
+            invokeAll(new RowsTask(rowEvaluator, fromRow, middle), new RowsTask(rowEvaluator, middle, toRow));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.poalimflex.service.amortization;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Computes how long a mortgage takes to repay and how many months a payment reduction adds to the term.
+ * Level payments use the closed-form annuity inverse {@code n = -ln(1 - rB/P) / ln(1 + r)}. Amounts are
+ * minor units and rates are millionths, as in {@link AmortizationEngine}; all arithmetic is primitive so the
+ * solver can run inline on every request.
+ */
+@Component
+public class TermExtensionSolver {
+    /**
+     * Returned by {@link #additionalMonths} when the regular payment no longer covers the interest on the
+     * balance, so the mortgage is never repaid
+     */
+    public static final int NOT_REPAYABLE = -1;
+
+    /**
+     * Additional months needed to repay a mortgage after its payment is reduced for a number of months,
+     * keeping the regular payment afterwards. The shortfall accrues interest at the mortgage rate.
+     *
+     * @param balance Current balance in minor units
+     * @param monthlyRateMicros Monthly rate in millionths
+     * @param payment Regular monthly payment in minor units
+     * @param reduction Monthly payment reduction in minor units
+     * @param reducedMonths Number of months the reduction applies
+     * @return Whole months added to the remaining term, or {@link #NOT_REPAYABLE} if the regular payment
+     *         does not cover the interest on the balance after the reduced period
+     */
+    public int additionalMonths(long balance, long monthlyRateMicros, long payment, long reduction, int reducedMonths) {
+        if (balance <= 0 || reduction <= 0 || reducedMonths <= 0) {
+            return 0;
+        }
+
+        double rate = monthlyRateMicros / (double) AmortizationEngine.RATE_SCALE;
+        double growth = Math.pow(1 + rate, reducedMonths);
+        double accumulation = rate == 0 ? reducedMonths : (growth - 1) / rate;
+
+        // Balance at the end of the reduced period on the original plan, and the compounded shortfall
+        double scheduledBalance = balance * growth - payment * accumulation;
+        if (scheduledBalance <= 0) {
+            // The original plan would have repaid the loan within the reduced period
+            scheduledBalance = 0;
+        }
+        double shortfall = reduction * accumulation;
+
+        double extendedMonths = monthsToRepay(scheduledBalance + shortfall, rate, payment);
+        double originalMonths = monthsToRepay(scheduledBalance, rate, payment);
+        if (Double.isInfinite(extendedMonths) || Double.isInfinite(originalMonths)) {
+            return NOT_REPAYABLE;
+        }
+        return Math.max(0, wholeMonths(extendedMonths) - wholeMonths(originalMonths));
+    }
+
+    /**
+     * Months needed to repay a balance with a level payment
+     *
+     * @return Fractional months, or {@link Double#POSITIVE_INFINITY} if the payment does not cover the interest
+     */
+    public double monthsToRepay(long balance, long monthlyRateMicros, long payment) {
+        return monthsToRepay(balance, monthlyRateMicros / (double) AmortizationEngine.RATE_SCALE, payment);
+    }
+
+    private static double monthsToRepay(double balance, double rate, double payment) {
+        if (balance <= 0) {
+            return 0;
+        }
+        if (payment <= 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (rate == 0) {
+            return balance / payment;
+        }
+
+        double remainingShare = 1 - rate * balance / payment;
+        if (remainingShare <= 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return -Math.log(remainingShare) / Math.log1p(rate);
+    }
+
+    /**
+     * Installments needed for a fractional term; the small tolerance absorbs floating-point noise on
+     * terms that are whole numbers
+     */
+    private static int wholeMonths(double months) {
+        return (int) Math.ceil(months - 1e-9);
+    }
+}
@@ -0,0 +1,28 @@
+package com.poalimflex.service.repayment;
+
+import com.poalimflex.dto.mortage.adjustment.MortgageAdjustmentRequestDto.RepaymentStrategy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Starts the catch-up gently and repays most of the deferred amount at the end, with weights 1, 2, ..., n
+ * over the catch-up months
+ */
+@Component
+public class BackLoadedRepaymentPlan implements RepaymentStrategyPlan {
+
+    @Override
+    public RepaymentStrategy strategy() {
+        return RepaymentStrategy.BACK_LOADED;
+    }
+
+    @Override
+    public int catchUpMonths(int monthsLeftAfterReduction) {
+        return Math.max(1, Math.min(SpreadEvenlyRepaymentPlan.CATCH_UP_MONTHS, monthsLeftAfterReduction));
+    }
+
+    @Override
+    public long cumulativeWeight(int months, int catchUpMonths) {
+        long k = months;
+        return k * (k + 1) / 2;
+    }
+}
@@ -0,0 +1,27 @@
+package com.poalimflex.service.repayment;
+
+import com.poalimflex.dto.mortage.adjustment.MortgageAdjustmentRequestDto.RepaymentStrategy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spreads the deferred amount evenly over the rest of the mortgage term, keeping the monthly surcharge as
+ * small as possible
+ */
+@Component
+public class FlexibleRepaymentPlan implements RepaymentStrategyPlan {
+
+    @Override
+    public RepaymentStrategy strategy() {
+        return RepaymentStrategy.FLEXIBLE;
+    }
+
+    @Override
+    public int catchUpMonths(int monthsLeftAfterReduction) {
+        return Math.max(1, monthsLeftAfterReduction);
+    }
+
+    @Override
+    public long cumulativeWeight(int months, int catchUpMonths) {
+        return months;
+    }
+}
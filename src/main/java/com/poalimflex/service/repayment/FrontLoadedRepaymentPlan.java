@@ -0,0 +1,28 @@
+package com.poalimflex.service.repayment;
+
+import com.poalimflex.dto.mortage.adjustment.MortgageAdjustmentRequestDto.RepaymentStrategy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repays most of the deferred amount right after the reduced period, with weights n, n-1, ..., 1 over the
+ * catch-up months
+ */
+@Component
+public class FrontLoadedRepaymentPlan implements RepaymentStrategyPlan {
+
+    @Override
+    public RepaymentStrategy strategy() {
+        return RepaymentStrategy.FRONT_LOADED;
+    }
+
+    @Override
+    public int catchUpMonths(int monthsLeftAfterReduction) {
+        return Math.max(1, Math.min(SpreadEvenlyRepaymentPlan.CATCH_UP_MONTHS, monthsLeftAfterReduction));
+    }
+
+    @Override
+    public long cumulativeWeight(int months, int catchUpMonths) {
+        long k = months;
+        return k * catchUpMonths - k * (k - 1) / 2;
+    }
+}
@@ -0,0 +1,43 @@
+package com.poalimflex.service.repayment;
+
+import com.poalimflex.dto.mortage.adjustment.MortgageAdjustmentResponseDto.MonthlyProjection;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Amortization state at the end of a reduced-payment period, produced once by
+ * {@link RepaymentStrategyEngine#reducePayments} and shared by every strategy projected from it.
+ * Amounts are minor units and the rate is in millionths.
+ */
+@Value
+@Builder
+public class ReducedPaymentPeriod {
+    LocalDate startDate;
+
+    long monthlyRateMicros;
+
+    long regularPayment;
+
+    int reducedMonths;
+
+    int monthsLeftAfterReduction;
+
+    /**
+     * Sum of the payment reductions, repaid during the catch-up period
+     */
+    long deferredAmount;
+
+    long balanceAfterReduction;
+
+    long interestDuringReduction;
+
+    /**
+     * Interest over the life of the mortgage without any adjustment
+     */
+    long baselineLifetimeInterest;
+
+    List<MonthlyProjection> projections;
+}
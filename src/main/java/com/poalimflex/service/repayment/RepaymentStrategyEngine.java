@@ -0,0 +1,146 @@
+package com.poalimflex.service.repayment;
+
+import com.poalimflex.dto.mortage.adjustment.AdjustmentSimulationResultDto.StrategyComparison;
+import com.poalimflex.dto.mortage.adjustment.MortgageAdjustmentRequestDto.RepaymentStrategy;
+import com.poalimflex.dto.mortage.adjustment.MortgageAdjustmentResponseDto.MonthlyProjection;
+import com.poalimflex.entity.Mortgage;
+import com.poalimflex.service.amortization.AmortizationEngine;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Projects the catch-up schedule that follows a payment reduction for any {@link RepaymentStrategyPlan}.
+ * The reduced period is amortized once by {@link #reducePayments}; each strategy then only amortizes its
+ * own catch-up months from that shared state.
+ */
+@Component
+public class RepaymentStrategyEngine {
+    private static final int MAX_PAYOFF_MONTHS = 1200;
+
+    private final AmortizationEngine amortizationEngine;
+    private final Map<RepaymentStrategy, RepaymentStrategyPlan> plans = new EnumMap<>(RepaymentStrategy.class);
+
+    public RepaymentStrategyEngine(AmortizationEngine amortizationEngine, List<RepaymentStrategyPlan> plans) {
+        this.amortizationEngine = amortizationEngine;
+        plans.forEach(plan -> this.plans.put(plan.strategy(), plan));
+    }
+
+    /**
+     * Amortize the months in which the payment is reduced. A reduced payment below the interest due repays
+     * no principal.
+     */
+    public ReducedPaymentPeriod reducePayments(
+            Mortgage mortgage, BigDecimal reductionAmount, int reducedMonths, LocalDate startDate) {
+        long balance = AmortizationEngine.toMinorUnits(mortgage.getCurrentBalance());
+        long monthlyRate = amortizationEngine.monthlyRateMicros(mortgage.getInterestRate());
+        long regularPayment = AmortizationEngine.toMinorUnits(mortgage.getMonthlyPayment());
+        long reduction = AmortizationEngine.toMinorUnits(reductionAmount);
+
+        List<MonthlyProjection> projections = new ArrayList<>(reducedMonths);
+        long[] interestDuringReduction = new long[1];
+        long balanceAfterReduction = amortizationEngine.amortize(
+                balance, monthlyRate, regularPayment - reduction, 0, reducedMonths, true,
+                (monthIndex, payment, principal, interest, balanceAfter) -> {
+                    interestDuringReduction[0] += interest;
+                    projections.add(projection(startDate, monthIndex, payment, principal, interest));
+                });
+
+        int remainingTerm = mortgage.getRemainingTermMonths() != null ? mortgage.getRemainingTermMonths() : 0;
+
+        return ReducedPaymentPeriod.builder()
+                .startDate(startDate)
+                .monthlyRateMicros(monthlyRate)
+                .regularPayment(regularPayment)
+                .reducedMonths(reducedMonths)
+                .monthsLeftAfterReduction(remainingTerm - reducedMonths)
+                .deferredAmount(Math.multiplyExact(reduction, (long) reducedMonths))
+                .balanceAfterReduction(balanceAfterReduction)
+                .interestDuringReduction(interestDuringReduction[0])
+                .baselineLifetimeInterest(amortizationEngine.interestUntilRepaid(
+                        balance, monthlyRate, regularPayment, MAX_PAYOFF_MONTHS))
+                .projections(projections)
+                .build();
+    }
+
+    /**
+     * Project the catch-up schedule of one strategy
+     */
+    public StrategyComparison project(ReducedPaymentPeriod period, RepaymentStrategy strategy) {
+        RepaymentStrategyPlan plan = plans.get(strategy);
+        if (plan == null) {
+            throw new RuntimeException("Unsupported repayment strategy: " + strategy);
+        }
+
+        int catchUpMonths = plan.catchUpMonths(period.getMonthsLeftAfterReduction());
+        long totalWeight = plan.totalWeight(catchUpMonths);
+        long monthlyRate = period.getMonthlyRateMicros();
+
+        List<MonthlyProjection> projections = new ArrayList<>(period.getProjections().size() + catchUpMonths);
+        projections.addAll(period.getProjections());
+
+        long balance = period.getBalanceAfterReduction();
+        long totalInterest = period.getInterestDuringReduction();
+        long allocated = 0;
+        long firstPayment = 0;
+        long peakPayment = 0;
+
+        for (int k = 0; k < catchUpMonths; k++) {
+            long cumulative = AmortizationEngine.divideHalfUp(
+                    Math.multiplyExact(period.getDeferredAmount(), plan.cumulativeWeight(k + 1, catchUpMonths)),
+                    totalWeight);
+            long payment = period.getRegularPayment() + cumulative - allocated;
+            allocated = cumulative;
+
+            long interest = amortizationEngine.monthlyInterest(balance, monthlyRate);
+            long principal = payment - interest;
+            balance -= principal;
+            totalInterest += interest;
+
+            if (k == 0) {
+                firstPayment = payment;
+            }
+            peakPayment = Math.max(peakPayment, payment);
+            projections.add(projection(period.getStartDate(), period.getReducedMonths() + k, payment, principal, interest));
+        }
+
+        totalInterest += amortizationEngine.interestUntilRepaid(
+                balance, monthlyRate, period.getRegularPayment(), MAX_PAYOFF_MONTHS);
+
+        return StrategyComparison.builder()
+                .strategy(strategy)
+                .catchUpMonths(catchUpMonths)
+                .postAdjustmentMonthlyPayment(AmortizationEngine.fromMinorUnits(firstPayment))
+                .peakMonthlyPayment(AmortizationEngine.fromMinorUnits(peakPayment))
+                .lifetimeAdditionalInterest(AmortizationEngine.fromMinorUnits(
+                        totalInterest - period.getBaselineLifetimeInterest()))
+                .monthlyProjections(projections)
+                .build();
+    }
+
+    /**
+     * Project every supported strategy from the same reduced period
+     */
+    public List<StrategyComparison> projectAll(ReducedPaymentPeriod period) {
+        List<StrategyComparison> comparisons = new ArrayList<>(plans.size());
+        for (RepaymentStrategy strategy : plans.keySet()) {
+            comparisons.add(project(period, strategy));
+        }
+        return comparisons;
+    }
+
+    private static MonthlyProjection projection(
+            LocalDate startDate, int monthIndex, long payment, long principal, long interest) {
+        return MonthlyProjection.builder()
+                .month(startDate.plusMonths(monthIndex))
+                .projectedPayment(AmortizationEngine.fromMinorUnits(payment))
+                .principalPortion(AmortizationEngine.fromMinorUnits(principal))
+                .interestPortion(AmortizationEngine.fromMinorUnits(interest))
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.poalimflex.service.repayment;
+
+import com.poalimflex.dto.mortage.adjustment.MortgageAdjustmentRequestDto.RepaymentStrategy;
+
+/**
+ * How a repayment strategy spreads the deferred amount over the catch-up period that follows a payment
+ * reduction. Plans describe the split as integer weights so {@link RepaymentStrategyEngine} can allocate
+ * agorot exactly: the surcharge of catch-up month {@code k} is the rounded cumulative share up to month
+ * {@code k + 1} minus the rounded cumulative share up to month {@code k}, which always sums to the
+ * deferred amount.
+ */
+public interface RepaymentStrategyPlan {
+    RepaymentStrategy strategy();
+
+    /**
+     * Length of the catch-up period
+     *
+     * @param monthsLeftAfterReduction Months of the mortgage term left once the reduced period ends
+     */
+    int catchUpMonths(int monthsLeftAfterReduction);
+
+    /**
+     * Sum of the weights of the first {@code months} catch-up months
+     */
+    long cumulativeWeight(int months, int catchUpMonths);
+
+    default long totalWeight(int catchUpMonths) {
+        return cumulativeWeight(catchUpMonths, catchUpMonths);
+    }
+}
@@ -0,0 +1,27 @@
+package com.poalimflex.service.repayment;
+
+import com.poalimflex.dto.mortage.adjustment.MortgageAdjustmentRequestDto.RepaymentStrategy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repays the deferred amount in equal parts over the twelve months after the reduced period
+ */
+@Component
+public class SpreadEvenlyRepaymentPlan implements RepaymentStrategyPlan {
+    static final int CATCH_UP_MONTHS = 12;
+
+    @Override
+    public RepaymentStrategy strategy() {
+        return RepaymentStrategy.SPREAD_EVENLY;
+    }
+
+    @Override
+    public int catchUpMonths(int monthsLeftAfterReduction) {
+        return Math.max(1, Math.min(CATCH_UP_MONTHS, monthsLeftAfterReduction));
+    }
+
+    @Override
+    public long cumulativeWeight(int months, int catchUpMonths) {
+        return months;
+    }
+}
@@ -0,0 +1,31 @@
+package com.poalimflex.service.report;
+
+import com.poalimflex.dto.ReportJobStatusDto;
+import com.poalimflex.entity.ReportJob.ReportType;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Interface for admin reports computed asynchronously, for date ranges too long for a synchronous request
+ */
+public interface ReportJobService {
+    /**
+     * Queue a report computation, or attach to the one already running for the same report and dates
+     *
+     * @param reportType Report to compute
+     * @param fromDate Optional inclusive start date
+     * @param toDate Optional inclusive end date
+     * @return Status of the queued or running job
+     * @throws IllegalStateException if the job queue is full
+     */
+    ReportJobStatusDto submit(ReportType reportType, LocalDate fromDate, LocalDate toDate);
+
+    /**
+     * Current progress of a report job and, once it has completed, its result
+     *
+     * @param jobId The unique identifier of the job
+     * @return Job status, or empty if the job is unknown or has expired
+     */
+    Optional<ReportJobStatusDto> getStatus(String jobId);
+}
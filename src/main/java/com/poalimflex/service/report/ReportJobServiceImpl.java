@@ -0,0 +1,171 @@
+package com.poalimflex.service.report;
+
+import com.poalimflex.dto.ReportJobStatusDto;
+import com.poalimflex.entity.ReportJob;
+import com.poalimflex.entity.ReportJob.JobState;
+import com.poalimflex.entity.ReportJob.ReportType;
+import com.poalimflex.repository.ReportJobRepository;
+import com.poalimflex.service.AdminReportingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Runs admin report jobs on the bounded {@code reportJobExecutor} and keeps their state and results in
+ * {@code report_jobs}, so any node can answer a poll. A queued or running job claims its report and dates
+ * through a unique index, and a submission with the same parameters on any node attaches to it instead of
+ * queuing another.
+ */
+@Service
+@Slf4j
+public class ReportJobServiceImpl implements ReportJobService {
+    private final AdminReportingService adminReportingService;
+    private final ReportJobRepository reportJobRepository;
+    private final ThreadPoolTaskExecutor jobExecutor;
+    private final Duration resultTtl;
+    private final Duration maxRunTime;
+
+    public ReportJobServiceImpl(
+            AdminReportingService adminReportingService,
+            ReportJobRepository reportJobRepository,
+            @Qualifier("reportJobExecutor") ThreadPoolTaskExecutor jobExecutor,
+            @Value("${poalim.flex.report-jobs.result-ttl:1h}") Duration resultTtl,
+            @Value("${poalim.flex.report-jobs.max-run-time:6h}") Duration maxRunTime) {
+        this.adminReportingService = adminReportingService;
+        this.reportJobRepository = reportJobRepository;
+        this.jobExecutor = jobExecutor;
+        this.resultTtl = resultTtl;
+        this.maxRunTime = maxRunTime;
+    }
+
+    @Override
+    public ReportJobStatusDto submit(ReportType reportType, LocalDate fromDate, LocalDate toDate) {
+        String parameters = reportType + ":" + fromDate + ":" + toDate;
+        LocalDateTime now = LocalDateTime.now();
+        ReportJob job;
+        try {
+            job = reportJobRepository.insert(ReportJob.builder()
+                    .id(UUID.randomUUID().toString())
+                    .reportType(reportType)
+                    .fromDate(fromDate)
+                    .toDate(toDate)
+                    .state(JobState.QUEUED)
+                    .activeParameters(parameters)
+                    .completedSteps(0)
+                    .submittedAt(now)
+                    .expiresAt(toDate(now.plus(maxRunTime)))
+                    .build());
+        } catch (DuplicateKeyException e) {
+            Optional<ReportJob> active = reportJobRepository.findByActiveParameters(parameters);
+            if (active.isEmpty()) {
+                // The active job finished between the insert and the lookup, so queue a new one
+                return submit(reportType, fromDate, toDate);
+            }
+            log.info("Attaching {} report submission to active job {}", reportType, active.get().getId());
+            return toStatus(active.get());
+        }
+
+        try {
+            jobExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            reportJobRepository.deleteById(job.getId());
+            throw new IllegalStateException("Too many report jobs are queued", e);
+        }
+
+        log.info("Queued {} report job {} from {} to {}", reportType, job.getId(), fromDate, toDate);
+        return toStatus(job);
+    }
+
+    @Override
+    public Optional<ReportJobStatusDto> getStatus(String jobId) {
+        return reportJobRepository.findById(jobId).map(this::toStatus);
+    }
+
+    private void run(ReportJob job) {
+        try {
+            job.setState(JobState.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+            reportJobRepository.save(job);
+
+            switch (job.getReportType()) {
+                case ADJUSTMENT_SUMMARY -> job.setAdjustmentSummary(adminReportingService.getAdjustmentSummary(
+                        job.getFromDate(), job.getToDate(), (completedSteps, totalSteps) -> {
+                            job.setCompletedSteps(completedSteps);
+                            job.setTotalSteps(totalSteps);
+                            reportJobRepository.save(job);
+                        }));
+                case ADJUSTMENT_TRENDS -> {
+                    // Served from the monthly rollups, so a single step regardless of the range
+                    job.setTotalSteps(1);
+                    job.setAdjustmentTrends(adminReportingService.getAdjustmentTrends(job.getFromDate(), job.getToDate()));
+                    job.setCompletedSteps(1);
+                }
+            }
+
+            finish(job, JobState.COMPLETED, null);
+            log.info("Report job {} completed in {}", job.getId(),
+                    Duration.between(job.getStartedAt(), job.getFinishedAt()));
+        } catch (RuntimeException e) {
+            log.error("Report job {} failed", job.getId(), e);
+            finish(job, JobState.FAILED, e.getMessage());
+        }
+    }
+
+    private void finish(ReportJob job, JobState state, String reason) {
+        LocalDateTime now = LocalDateTime.now();
+        job.setState(state);
+        job.setActiveParameters(null);
+        job.setFailureReason(reason);
+        job.setFinishedAt(now);
+        job.setExpiresAt(toDate(now.plus(resultTtl)));
+        try {
+            reportJobRepository.save(job);
+        } catch (RuntimeException e) {
+            log.error("Could not store the outcome of report job {}", job.getId(), e);
+        }
+    }
+
+    private ReportJobStatusDto toStatus(ReportJob job) {
+        Integer completed = job.getCompletedSteps();
+        Integer total = job.getTotalSteps();
+        return ReportJobStatusDto.builder()
+                .jobId(job.getId())
+                .reportType(job.getReportType())
+                .fromDate(job.getFromDate())
+                .toDate(job.getToDate())
+                .state(job.getState())
+                .completedSteps(completed)
+                .totalSteps(total)
+                .progressPercentage(job.getState() == JobState.COMPLETED
+                        ? 100.0
+                        : total != null && total > 0 && completed != null
+                                ? Math.round(completed * 1000.0 / total) / 10.0
+                                : 0.0)
+                .submittedAt(job.getSubmittedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .expiresAt(job.getExpiresAt() != null
+                        ? LocalDateTime.ofInstant(job.getExpiresAt().toInstant(), ZoneId.systemDefault())
+                        : null)
+                .failureReason(job.getFailureReason())
+                .adjustmentSummary(job.getAdjustmentSummary())
+                .adjustmentTrends(job.getAdjustmentTrends())
+                .build();
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
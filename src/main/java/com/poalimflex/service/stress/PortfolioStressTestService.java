@@ -0,0 +1,36 @@
+package com.poalimflex.service.stress;
+
+import com.poalimflex.dto.financial.PortfolioStressTestStatusDto;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interface for portfolio-wide interest rate shock stress tests
+ */
+public interface PortfolioStressTestService {
+    /**
+     * Start a stress test over all active mortgages in the background
+     *
+     * @param shockBasisPoints Rate changes to evaluate, the configured shocks when null or empty
+     * @return Status of the started job
+     * @throws IllegalStateException if a stress test is already running
+     */
+    PortfolioStressTestStatusDto start(List<Integer> shockBasisPoints);
+
+    /**
+     * Current progress and results of a stress test
+     *
+     * @param jobId The unique identifier of the job
+     * @return Job status, or empty if the job is unknown
+     */
+    Optional<PortfolioStressTestStatusDto> getStatus(String jobId);
+
+    /**
+     * Request a running stress test to stop after the batch in progress
+     *
+     * @param jobId The unique identifier of the job
+     * @return Job status, or empty if the job is unknown
+     */
+    Optional<PortfolioStressTestStatusDto> cancel(String jobId);
+}
@@ -0,0 +1,265 @@
+package com.poalimflex.service.stress;
+
+import com.poalimflex.dto.financial.PortfolioStressTestStatusDto;
+import com.poalimflex.dto.financial.PortfolioStressTestStatusDto.JobState;
+import com.poalimflex.entity.Mortgage;
+import com.poalimflex.entity.UserFinancialProfile;
+import com.poalimflex.repository.MortgageRepository;
+import com.poalimflex.repository.UserFinancialProfileRepository;
+import com.poalimflex.service.AiFinancialAnalysisService;
+import com.poalimflex.service.amortization.AmortizationEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Re-prices every active mortgage at each rate shock and aggregates payment difficulty into risk bands.
+ * Mortgages are read in {@code _id} keyset batches together with their borrowers' financial profiles, so
+ * only one batch is held in memory. Each batch is evaluated in partitions on the dedicated {@code stressTestPool}
+ * and merged into the job totals before the next batch is read; cancellation takes effect between batches.
+ */
+@Service
+@Slf4j
+public class PortfolioStressTestServiceImpl implements PortfolioStressTestService {
+    /**
+     * Mortgages evaluated sequentially by one task before a batch is split further
+     */
+    private static final int MORTGAGES_PER_PARTITION = 64;
+    private static final int RETAINED_JOBS = 20;
+
+    private final MortgageRepository mortgageRepository;
+    private final UserFinancialProfileRepository userFinancialProfileRepository;
+    private final AiFinancialAnalysisService aiFinancialAnalysisService;
+    private final AmortizationEngine amortizationEngine;
+    private final ForkJoinPool evaluationPool;
+    private final int batchSize;
+    private final List<Integer> defaultShockBasisPoints;
+
+    private final SimpleAsyncTaskExecutor jobExecutor = new SimpleAsyncTaskExecutor("stress-test-");
+    private final AtomicReference<StressTestJob> runningJob = new AtomicReference<>();
+    private final Map<String, StressTestJob> jobs = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, false) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, StressTestJob> eldest) {
+                    return size() > RETAINED_JOBS && eldest.getValue().state != JobState.RUNNING;
+                }
+            });
+
+    public PortfolioStressTestServiceImpl(
+            MortgageRepository mortgageRepository,
+            UserFinancialProfileRepository userFinancialProfileRepository,
+            AiFinancialAnalysisService aiFinancialAnalysisService,
+            AmortizationEngine amortizationEngine,
+            @Qualifier("stressTestPool") ForkJoinPool evaluationPool,
+            @Value("${poalim.flex.stress-test.batch-size:500}") int batchSize,
+            @Value("${poalim.flex.stress-test.shocks-bps:-300,-200,-100,0,100,200,300}")
+            List<Integer> defaultShockBasisPoints) {
+        this.mortgageRepository = mortgageRepository;
+        this.userFinancialProfileRepository = userFinancialProfileRepository;
+        this.aiFinancialAnalysisService = aiFinancialAnalysisService;
+        this.amortizationEngine = amortizationEngine;
+        this.evaluationPool = evaluationPool;
+        this.batchSize = batchSize;
+        this.defaultShockBasisPoints = defaultShockBasisPoints;
+    }
+
+    @Override
+    public PortfolioStressTestStatusDto start(List<Integer> shockBasisPoints) {
+        List<Integer> requested = shockBasisPoints == null || shockBasisPoints.isEmpty()
+                ? defaultShockBasisPoints
+                : shockBasisPoints;
+        int[] shocks = requested.stream()
+                .mapToInt(Integer::intValue)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        StressTestJob job = new StressTestJob(UUID.randomUUID().toString(), shocks);
+        if (!runningJob.compareAndSet(null, job)) {
+            throw new IllegalStateException("A stress test is already running");
+        }
+
+        jobs.put(job.id, job);
+        log.info("Starting portfolio stress test {} for shocks {} bps", job.id, Arrays.toString(shocks));
+        jobExecutor.execute(() -> run(job));
+        return job.toStatus();
+    }
+
+    @Override
+    public Optional<PortfolioStressTestStatusDto> getStatus(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(StressTestJob::toStatus);
+    }
+
+    @Override
+    public Optional<PortfolioStressTestStatusDto> cancel(String jobId) {
+        StressTestJob job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+
+        job.cancelRequested = true;
+        return Optional.of(job.toStatus());
+    }
+
+    private void run(StressTestJob job) {
+        try {
+            job.totalMortgages = mortgageRepository.countByIsActiveTrue();
+
+            String lastId = null;
+            while (!job.cancelRequested) {
+                List<Mortgage> batch = mortgageRepository.findActiveLoanTermsBatch(lastId, batchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                RateShockAccumulator batchTotals = evaluationPool.invoke(
+                        new PartitionTask(job.shocks, batch, findProfiles(batch), 0, batch.size()));
+                synchronized (job) {
+                    job.totals.merge(batchTotals);
+                    job.processed.addAndGet(batch.size());
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+
+            job.finish(job.cancelRequested ? JobState.CANCELLED : JobState.COMPLETED, null);
+            log.info("Portfolio stress test {} {} after {} mortgages", job.id, job.state, job.processed.get());
+        } catch (RuntimeException e) {
+            log.error("Portfolio stress test {} failed", job.id, e);
+            job.finish(JobState.FAILED, e.getMessage());
+        } finally {
+            runningJob.compareAndSet(job, null);
+        }
+    }
+
+    private Map<String, UserFinancialProfile> findProfiles(List<Mortgage> batch) {
+        Set<String> userIds = batch.stream()
+                .map(Mortgage::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        return userFinancialProfileRepository.findByUserIdIn(userIds).stream()
+                .collect(Collectors.toMap(
+                        UserFinancialProfile::getUserId, Function.identity(), (first, second) -> first));
+    }
+
+    /**
+     * Add one mortgage at every shock. The payment change is the difference between the level payments at
+     * the shocked and the current rate, so it does not depend on how the stored payment was rounded.
+     */
+    private void evaluate(Mortgage mortgage, UserFinancialProfile profile, int[] shocks, RateShockAccumulator totals) {
+        if (profile == null || profile.getDebtToIncomeRatio() == null || profile.getCreditScore() == null
+                || mortgage.getCurrentBalance() == null || mortgage.getInterestRate() == null
+                || mortgage.getRemainingTermMonths() == null) {
+            totals.countSkipped();
+            return;
+        }
+
+        long balance = AmortizationEngine.toMinorUnits(mortgage.getCurrentBalance());
+        int months = mortgage.getRemainingTermMonths();
+        long currentPayment = amortizationEngine.levelPayment(
+                balance, amortizationEngine.monthlyRateMicros(mortgage.getInterestRate()), months);
+
+        for (int shock = 0; shock < shocks.length; shock++) {
+            BigDecimal shockedRate = mortgage.getInterestRate()
+                    .add(BigDecimal.valueOf(shocks[shock], 2))
+                    .max(BigDecimal.ZERO);
+            long paymentChange = amortizationEngine.levelPayment(
+                    balance, amortizationEngine.monthlyRateMicros(shockedRate), months) - currentPayment;
+            double difficulty = aiFinancialAnalysisService.predictPaymentDifficulty(
+                    profile, AmortizationEngine.fromMinorUnits(paymentChange));
+            totals.add(shock, balance, paymentChange, difficulty);
+        }
+        totals.countEvaluated();
+    }
+
+    @SuppressWarnings("serial")
+    private final class PartitionTask extends RecursiveTask<RateShockAccumulator> {
+        private final int[] shocks;
+        private final List<Mortgage> batch;
+        private final Map<String, UserFinancialProfile> profiles;
+        private final int from;
+        private final int to;
+
+        PartitionTask(int[] shocks, List<Mortgage> batch, Map<String, UserFinancialProfile> profiles,
+                      int from, int to) {
+            this.shocks = shocks;
+            this.batch = batch;
+            this.profiles = profiles;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected RateShockAccumulator compute() {
+            if (to - from <= MORTGAGES_PER_PARTITION) {
+                RateShockAccumulator totals = new RateShockAccumulator(shocks.length);
+                for (int i = from; i < to; i++) {
+                    Mortgage mortgage = batch.get(i);
+                    evaluate(mortgage, profiles.get(mortgage.getUserId()), shocks, totals);
+                }
+                return totals;
+            }
+
+            int middle = (from + to) >>> 1;
+            PartitionTask upper = new PartitionTask(shocks, batch, profiles, middle, to);
+            upper.fork();
+            RateShockAccumulator lower = new PartitionTask(shocks, batch, profiles, from, middle).compute();
+            return lower.merge(upper.join());
+        }
+    }
+
+    private static final class StressTestJob {
+        private final String id;
+        private final int[] shocks;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong processed = new AtomicLong();
+        private final RateShockAccumulator totals;
+        private volatile long totalMortgages;
+        private volatile boolean cancelRequested;
+        private volatile JobState state = JobState.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile String failureReason;
+
+        StressTestJob(String id, int[] shocks) {
+            this.id = id;
+            this.shocks = shocks;
+            this.totals = new RateShockAccumulator(shocks.length);
+        }
+
+        void finish(JobState finalState, String reason) {
+            failureReason = reason;
+            finishedAt = LocalDateTime.now();
+            state = finalState;
+        }
+
+        synchronized PortfolioStressTestStatusDto toStatus() {
+            long processedMortgages = processed.get();
+            return PortfolioStressTestStatusDto.builder()
+                    .jobId(id)
+                    .state(state)
+                    .totalMortgages(totalMortgages)
+                    .processedMortgages(processedMortgages)
+                    .skippedMortgages(totals.skipped())
+                    .progressPercentage(totalMortgages > 0
+                            ? Math.min(100.0, processedMortgages * 100.0 / totalMortgages)
+                            : state == JobState.RUNNING ? 0.0 : 100.0)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .failureReason(failureReason)
+                    .results(totals.toResults(shocks))
+                    .build();
+        }
+    }
+}
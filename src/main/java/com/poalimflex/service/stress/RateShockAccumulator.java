@@ -0,0 +1,82 @@
+package com.poalimflex.service.stress;
+
+import com.poalimflex.dto.RiskBandDto;
+import com.poalimflex.dto.financial.PortfolioStressTestStatusDto.RateShockResult;
+import com.poalimflex.service.RiskBands;
+import com.poalimflex.service.amortization.AmortizationEngine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Primitive per-shock, per-band totals. Partitions fill their own accumulator and merge them pairwise,
+ * so evaluation needs no locking.
+ */
+final class RateShockAccumulator {
+    private final long[][] mortgages;
+    private final long[][] balances;
+    private final long[] paymentChanges;
+    private final double[] difficultyTotals;
+    private long evaluated;
+    private long skipped;
+
+    RateShockAccumulator(int shocks) {
+        this.mortgages = new long[shocks][RiskBands.NAMES.length];
+        this.balances = new long[shocks][RiskBands.NAMES.length];
+        this.paymentChanges = new long[shocks];
+        this.difficultyTotals = new double[shocks];
+    }
+
+    void add(int shock, long balance, long paymentChange, double paymentDifficulty) {
+        int band = RiskBands.of(paymentDifficulty);
+        mortgages[shock][band]++;
+        balances[shock][band] += balance;
+        paymentChanges[shock] += paymentChange;
+        difficultyTotals[shock] += paymentDifficulty;
+    }
+
+    void countEvaluated() {
+        evaluated++;
+    }
+
+    void countSkipped() {
+        skipped++;
+    }
+
+    long skipped() {
+        return skipped;
+    }
+
+    RateShockAccumulator merge(RateShockAccumulator other) {
+        for (int shock = 0; shock < paymentChanges.length; shock++) {
+            for (int band = 0; band < RiskBands.NAMES.length; band++) {
+                mortgages[shock][band] += other.mortgages[shock][band];
+                balances[shock][band] += other.balances[shock][band];
+            }
+            paymentChanges[shock] += other.paymentChanges[shock];
+            difficultyTotals[shock] += other.difficultyTotals[shock];
+        }
+        evaluated += other.evaluated;
+        skipped += other.skipped;
+        return this;
+    }
+
+    List<RateShockResult> toResults(int[] shockBasisPoints) {
+        List<RateShockResult> results = new ArrayList<>(shockBasisPoints.length);
+        for (int shock = 0; shock < shockBasisPoints.length; shock++) {
+            List<RiskBandDto> bands = new ArrayList<>(RiskBands.NAMES.length);
+            for (int band = 0; band < RiskBands.NAMES.length; band++) {
+                bands.add(new RiskBandDto(RiskBands.NAMES[band], Math.toIntExact(mortgages[shock][band]),
+                        AmortizationEngine.fromMinorUnits(balances[shock][band])));
+            }
+
+            results.add(RateShockResult.builder()
+                    .shockBasisPoints(shockBasisPoints[shock])
+                    .totalMonthlyPaymentChange(AmortizationEngine.fromMinorUnits(paymentChanges[shock]))
+                    .averagePaymentDifficulty(evaluated > 0 ? difficultyTotals[shock] / evaluated : null)
+                    .riskBands(bands)
+                    .build());
+        }
+        return results;
+    }
+}
@@ -0,0 +1,36 @@
+package com.poalimflex.sketch;
+
+import com.poalimflex.entity.MortgageAdjustment;
+import com.poalimflex.entity.MortgageAdjustment.AdjustmentStatus;
+import com.poalimflex.sketch.DistinctCounterStore.Counter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Counts a mortgage as adjusted when an approved or partially approved adjustment of it is saved, on the
+ * day of the adjustment
+ */
+@Component
+@RequiredArgsConstructor
+public class AdjustedMortgageCounterListener extends AbstractMongoEventListener<MortgageAdjustment> {
+    private final DistinctCounterStore distinctCounterStore;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<MortgageAdjustment> event) {
+        MortgageAdjustment adjustment = event.getSource();
+        if (adjustment.getMortgageId() == null
+                || (adjustment.getStatus() != AdjustmentStatus.APPROVED
+                && adjustment.getStatus() != AdjustmentStatus.PARTIALLY_APPROVED)) {
+            return;
+        }
+
+        LocalDate date = adjustment.getAdjustmentDate() != null
+                ? adjustment.getAdjustmentDate().toLocalDate()
+                : LocalDate.now();
+        distinctCounterStore.record(Counter.ADJUSTED_MORTGAGES, adjustment.getMortgageId(), date);
+    }
+}
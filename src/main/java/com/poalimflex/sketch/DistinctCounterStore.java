@@ -0,0 +1,180 @@
+package com.poalimflex.sketch;
+
+import com.poalimflex.entity.DistinctCounterSketch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Approximate distinct counts per day and per month in {@code distinct_counters}. Each node adds values to
+ * local HyperLogLog counters and periodically merges them into the stored ones; a count over any date range
+ * merges the month counters the range covers fully with the day counters of the partial months at its ends.
+ */
+@Component
+@Slf4j
+public class DistinctCounterStore {
+    private static final int MAX_FLUSH_ATTEMPTS = 5;
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration dayRetention;
+
+    /**
+     * Values not yet flushed, by document ID. Counters are only modified inside {@code compute}, which
+     * serializes them against the flush taking them out of the map.
+     */
+    private final Map<String, HyperLogLog> pending = new ConcurrentHashMap<>();
+
+    public DistinctCounterStore(
+            MongoTemplate mongoTemplate,
+            @Value("${poalim.flex.distinct-counters.day-retention:400d}") Duration dayRetention) {
+        this.mongoTemplate = mongoTemplate;
+        this.dayRetention = dayRetention;
+    }
+
+    /**
+     * Count {@code value} as seen on {@code date}, in that day's and that month's counter
+     */
+    public void record(Counter counter, String value, LocalDate date) {
+        long hash = HyperLogLog.hash(value);
+        if (!date.isBefore(LocalDate.now().minusDays(dayRetention.toDays()))) {
+            addHash(dayId(counter, date), hash);
+        }
+        addHash(monthId(counter, YearMonth.from(date)), hash);
+    }
+
+    private void addHash(String id, long hash) {
+        pending.compute(id, (key, sketch) -> {
+            HyperLogLog target = sketch != null ? sketch : new HyperLogLog();
+            target.addHash(hash);
+            return target;
+        });
+    }
+
+    /**
+     * Approximate number of distinct values recorded between two dates, both inclusive
+     */
+    public long count(Counter counter, LocalDate fromDate, LocalDate toDate) {
+        List<String> ids = new ArrayList<>();
+        LocalDate date = fromDate;
+        while (!date.isAfter(toDate)) {
+            YearMonth month = YearMonth.from(date);
+            if (date.getDayOfMonth() == 1 && !month.atEndOfMonth().isAfter(toDate)) {
+                ids.add(monthId(counter, month));
+                date = month.plusMonths(1).atDay(1);
+            } else {
+                ids.add(dayId(counter, date));
+                date = date.plusDays(1);
+            }
+        }
+
+        HyperLogLog union = new HyperLogLog();
+        for (DistinctCounterSketch stored : mongoTemplate.find(
+                new Query(Criteria.where("id").in(ids)), DistinctCounterSketch.class)) {
+            union.merge(HyperLogLog.fromRegisters(stored.getRegisters()));
+        }
+        for (String id : ids) {
+            pending.computeIfPresent(id, (key, sketch) -> {
+                union.merge(sketch);
+                return sketch;
+            });
+        }
+        return union.estimate();
+    }
+
+    /**
+     * Merge every pending counter into its stored document. Counters that cannot be written are kept for
+     * the next flush.
+     */
+    @Scheduled(fixedDelayString = "${poalim.flex.distinct-counters.flush-interval-ms:30000}")
+    public void flush() {
+        for (String id : new ArrayList<>(pending.keySet())) {
+            HyperLogLog sketch = pending.remove(id);
+            if (sketch == null) {
+                continue;
+            }
+
+            try {
+                mergeIntoStored(id, sketch);
+            } catch (RuntimeException e) {
+                log.warn("Could not flush distinct counter {}; retrying with the next flush", id, e);
+                pending.merge(id, sketch, HyperLogLog::merge);
+            }
+        }
+    }
+
+    private void mergeIntoStored(String id, HyperLogLog sketch) {
+        for (int attempt = 1; ; attempt++) {
+            DistinctCounterSketch stored = mongoTemplate.findById(id, DistinctCounterSketch.class);
+            if (stored == null) {
+                stored = newSketch(id);
+                stored.setRegisters(sketch.registers());
+            } else {
+                stored.setRegisters(HyperLogLog.fromRegisters(stored.getRegisters()).merge(sketch).registers());
+            }
+
+            try {
+                mongoTemplate.save(stored);
+                return;
+            } catch (OptimisticLockingFailureException | DuplicateKeyException e) {
+                // Another node merged first; merge into its version
+                if (attempt == MAX_FLUSH_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private DistinctCounterSketch newSketch(String id) {
+        int separator = id.lastIndexOf(':');
+        String period = id.substring(separator + 1);
+        boolean day = period.length() == "yyyy-MM-dd".length();
+
+        return DistinctCounterSketch.builder()
+                .id(id)
+                .counter(id.substring(0, separator))
+                .period(period)
+                .expiresAt(day
+                        ? Date.from(LocalDate.parse(period).plusDays(dayRetention.toDays())
+                                .atStartOfDay(ZoneId.systemDefault()).toInstant())
+                        : null)
+                .build();
+    }
+
+    private static String dayId(Counter counter, LocalDate date) {
+        return counter.id + ":" + date;
+    }
+
+    private static String monthId(Counter counter, YearMonth month) {
+        return counter.id + ":" + month;
+    }
+
+    public enum Counter {
+        /**
+         * Users who authenticated successfully
+         */
+        ACTIVE_USERS("active-users"),
+        /**
+         * Mortgages with at least one adjustment
+         */
+        ADJUSTED_MORTGAGES("adjusted-mortgages");
+
+        private final String id;
+
+        Counter(String id) {
+            this.id = id;
+        }
+    }
+}
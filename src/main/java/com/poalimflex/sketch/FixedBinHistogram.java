@@ -0,0 +1,70 @@
+package com.poalimflex.sketch;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts per labelled bin between fixed boundaries. Bin {@code i} holds values in
+ * {@code [boundaries[i-1], boundaries[i])}; the first and last bins are open-ended. Counts are plain sums,
+ * so histograms with the same bins merge by addition. Not thread safe.
+ */
+public final class FixedBinHistogram {
+    private final double[] boundaries;
+    private final String[] labels;
+    private final long[] counts;
+
+    /**
+     * @param boundaries Ascending bin boundaries
+     * @param labels One label per bin, {@code boundaries.length + 1} in all
+     */
+    public FixedBinHistogram(double[] boundaries, String[] labels) {
+        if (labels.length != boundaries.length + 1) {
+            throw new IllegalArgumentException("A histogram needs one label more than it has boundaries");
+        }
+        this.boundaries = boundaries.clone();
+        this.labels = labels.clone();
+        this.counts = new long[labels.length];
+    }
+
+    public void add(double value, long delta) {
+        int bin = 0;
+        while (bin < boundaries.length && value >= boundaries[bin]) {
+            bin++;
+        }
+        counts[bin] += delta;
+    }
+
+    /**
+     * Add {@code delta} to the bin labelled {@code label}; unknown labels are ignored
+     */
+    public void addToBin(String label, long delta) {
+        for (int bin = 0; bin < labels.length; bin++) {
+            if (labels[bin].equals(label)) {
+                counts[bin] += delta;
+                return;
+            }
+        }
+    }
+
+    public FixedBinHistogram merge(FixedBinHistogram other) {
+        for (int bin = 0; bin < counts.length; bin++) {
+            counts[bin] += other.counts[bin];
+        }
+        return this;
+    }
+
+    public FixedBinHistogram copy() {
+        return new FixedBinHistogram(boundaries, labels).merge(this);
+    }
+
+    /**
+     * Counts by label, in bin order
+     */
+    public Map<String, Long> counts() {
+        Map<String, Long> byLabel = new LinkedHashMap<>();
+        for (int bin = 0; bin < labels.length; bin++) {
+            byLabel.put(labels[bin], counts[bin]);
+        }
+        return byLabel;
+    }
+}
@@ -0,0 +1,135 @@
+package com.poalimflex.sketch;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HyperLogLog distinct counter with 2^14 one-byte registers, about 0.8% standard error in 16 KB. Adding a
+ * value again never changes the registers, and two counters merge by taking the larger of each register, so
+ * counters kept for separate periods or on separate nodes combine into the count of their union. Not thread
+ * safe.
+ */
+public final class HyperLogLog {
+    private static final int PRECISION = 14;
+    public static final int REGISTER_COUNT = 1 << PRECISION;
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this.registers = new byte[REGISTER_COUNT];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    /**
+     * Counter restored from {@link #registers()}
+     */
+    public static HyperLogLog fromRegisters(byte[] registers) {
+        if (registers.length != REGISTER_COUNT) {
+            throw new IllegalArgumentException("Expected " + REGISTER_COUNT + " registers");
+        }
+        return new HyperLogLog(registers.clone());
+    }
+
+    /**
+     * 64-bit hash of a value, as expected by {@link #addHash(long)}
+     */
+    public static long hash(String value) {
+        // Multiply-xorshift every UTF-8 byte in so short sequential IDs spread, then the MurmurHash3 finalizer
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * 0x9e3779b97f4a7c15L;
+            hash ^= hash >>> 32;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    public void add(String value) {
+        addHash(hash(value));
+    }
+
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (64 - PRECISION));
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << PRECISION), 64 - PRECISION) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public HyperLogLog merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTER_COUNT; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+        return this;
+    }
+
+    public HyperLogLog copy() {
+        return new HyperLogLog(registers.clone());
+    }
+
+    /**
+     * Estimated number of distinct values added, using Ertl's improved estimator, which stays unbiased
+     * across the whole range without the empirical correction tables of HyperLogLog++
+     */
+    public long estimate() {
+        int maxRank = 64 - PRECISION + 1;
+        int[] histogram = new int[maxRank + 1];
+        for (byte register : registers) {
+            histogram[register]++;
+        }
+
+        double z = REGISTER_COUNT * tau(1 - (double) histogram[maxRank] / REGISTER_COUNT);
+        for (int rank = maxRank - 1; rank >= 1; rank--) {
+            z = 0.5 * (z + histogram[rank]);
+        }
+        z += REGISTER_COUNT * sigma((double) histogram[0] / REGISTER_COUNT);
+        return Math.round(REGISTER_COUNT / (2 * Math.log(2)) * REGISTER_COUNT / z);
+    }
+
+    private static double sigma(double x) {
+        if (x == 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double y = 1;
+        double z = x;
+        double previous;
+        do {
+            x *= x;
+            previous = z;
+            z += x * y;
+            y += y;
+        } while (z != previous);
+        return z;
+    }
+
+    private static double tau(double x) {
+        if (x == 0 || x == 1) {
+            return 0;
+        }
+        double y = 1;
+        double z = 1 - x;
+        double previous;
+        do {
+            x = Math.sqrt(x);
+            previous = z;
+            y *= 0.5;
+            z -= (1 - x) * (1 - x) * y;
+        } while (z != previous);
+        return z / 3;
+    }
+
+    /**
+     * Copy of the registers, for persisting
+     */
+    public byte[] registers() {
+        return registers.clone();
+    }
+}
@@ -0,0 +1,152 @@
+package com.poalimflex.sketch;
+
+import com.poalimflex.entity.UserFinancialProfile;
+import com.poalimflex.entity.UserFinancialProfile.EmploymentStatus;
+import com.poalimflex.service.amortization.AmortizationEngine;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Mergeable summary of the financial profile distributions behind the demographics report: quantile
+ * sketches of income, credit score and debt-to-income ratio, the report's fixed income and credit score
+ * bins, employment status counts and the totals needed for averages. Every part is a sum of per-profile
+ * contributions, so a profile is removed by adding it with a negative count. Not thread safe.
+ */
+public final class ProfileDistribution {
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double[] INCOME_BOUNDARIES = {30_000, 50_000, 75_000, 100_000, 150_000};
+    private static final String[] INCOME_LABELS = {
+            "Under 30K", "30K-50K", "50K-75K", "75K-100K", "100K-150K", "150K+"};
+    private static final double[] CREDIT_SCORE_BOUNDARIES = {600, 650, 700, 750, 800};
+    private static final String[] CREDIT_SCORE_LABELS = {
+            "Under 600", "600-650", "650-700", "700-750", "750-800", "800+"};
+
+    private final QuantileSketch annualIncome = new QuantileSketch(RELATIVE_ACCURACY);
+    private final QuantileSketch creditScore = new QuantileSketch(RELATIVE_ACCURACY);
+    private final QuantileSketch debtToIncomeRatio = new QuantileSketch(RELATIVE_ACCURACY);
+    private final FixedBinHistogram annualIncomeBins = new FixedBinHistogram(INCOME_BOUNDARIES, INCOME_LABELS);
+    private final FixedBinHistogram creditScoreBins =
+            new FixedBinHistogram(CREDIT_SCORE_BOUNDARIES, CREDIT_SCORE_LABELS);
+    private final long[] employmentStatusCounts = new long[EmploymentStatus.values().length];
+    private long profileCount;
+    private long annualIncomeTotal;
+    private long creditScoreTotal;
+
+    /**
+     * Add {@code delta} occurrences of a profile's values; null fields are left out of their distribution
+     */
+    public void add(UserFinancialProfile profile, long delta) {
+        profileCount += delta;
+        if (profile.getTotalAnnualIncome() != null) {
+            double income = profile.getTotalAnnualIncome().doubleValue();
+            annualIncome.add(income, delta);
+            annualIncomeBins.add(income, delta);
+            annualIncomeTotal += delta * AmortizationEngine.toMinorUnits(profile.getTotalAnnualIncome());
+        }
+        if (profile.getCreditScore() != null) {
+            creditScore.add(profile.getCreditScore(), delta);
+            creditScoreBins.add(profile.getCreditScore(), delta);
+            creditScoreTotal += delta * profile.getCreditScore();
+        }
+        if (profile.getDebtToIncomeRatio() != null) {
+            debtToIncomeRatio.add(profile.getDebtToIncomeRatio().doubleValue(), delta);
+        }
+        if (profile.getEmploymentStatus() != null) {
+            employmentStatusCounts[profile.getEmploymentStatus().ordinal()] += delta;
+        }
+    }
+
+    public ProfileDistribution merge(ProfileDistribution other) {
+        annualIncome.merge(other.annualIncome);
+        creditScore.merge(other.creditScore);
+        debtToIncomeRatio.merge(other.debtToIncomeRatio);
+        annualIncomeBins.merge(other.annualIncomeBins);
+        creditScoreBins.merge(other.creditScoreBins);
+        for (int i = 0; i < employmentStatusCounts.length; i++) {
+            employmentStatusCounts[i] += other.employmentStatusCounts[i];
+        }
+        profileCount += other.profileCount;
+        annualIncomeTotal += other.annualIncomeTotal;
+        creditScoreTotal += other.creditScoreTotal;
+        return this;
+    }
+
+    public ProfileDistribution copy() {
+        return new ProfileDistribution().merge(this);
+    }
+
+    /**
+     * Whether every count is zero, as for a delta whose additions and removals cancel out
+     */
+    public boolean isEmpty() {
+        if (profileCount != 0 || annualIncomeTotal != 0 || creditScoreTotal != 0
+                || !annualIncome.isEmpty() || !creditScore.isEmpty() || !debtToIncomeRatio.isEmpty()) {
+            return false;
+        }
+        for (long count : employmentStatusCounts) {
+            if (count != 0) {
+                return false;
+            }
+        }
+        return annualIncomeBins.counts().values().stream().allMatch(count -> count == 0)
+                && creditScoreBins.counts().values().stream().allMatch(count -> count == 0);
+    }
+
+    public long profileCount() {
+        return profileCount;
+    }
+
+    public QuantileSketch annualIncome() {
+        return annualIncome;
+    }
+
+    public QuantileSketch creditScore() {
+        return creditScore;
+    }
+
+    public QuantileSketch debtToIncomeRatio() {
+        return debtToIncomeRatio;
+    }
+
+    public FixedBinHistogram annualIncomeBins() {
+        return annualIncomeBins;
+    }
+
+    public FixedBinHistogram creditScoreBins() {
+        return creditScoreBins;
+    }
+
+    /**
+     * Sum of the annual incomes in minor units
+     */
+    public long annualIncomeTotal() {
+        return annualIncomeTotal;
+    }
+
+    public long creditScoreTotal() {
+        return creditScoreTotal;
+    }
+
+    public Map<EmploymentStatus, Long> employmentStatusCounts() {
+        Map<EmploymentStatus, Long> counts = new EnumMap<>(EmploymentStatus.class);
+        for (EmploymentStatus status : EmploymentStatus.values()) {
+            counts.put(status, employmentStatusCounts[status.ordinal()]);
+        }
+        return counts;
+    }
+
+    /**
+     * Add to the totals directly, for restoring a persisted distribution
+     */
+    void addTotals(long profiles, long annualIncomeMinorUnits, long creditScores) {
+        profileCount += profiles;
+        annualIncomeTotal += annualIncomeMinorUnits;
+        creditScoreTotal += creditScores;
+    }
+
+    void addEmploymentStatus(EmploymentStatus status, long delta) {
+        employmentStatusCounts[status.ordinal()] += delta;
+    }
+}
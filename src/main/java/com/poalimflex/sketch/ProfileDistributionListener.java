@@ -0,0 +1,88 @@
+package com.poalimflex.sketch;
+
+import com.poalimflex.entity.UserFinancialProfile;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records every financial profile save and delete in the profile distribution. The stored values of an
+ * existing profile are read before it is overwritten, so an update replaces its old contribution instead of
+ * counting the profile twice. As with adjustment rollups, the values are read at the exact version being
+ * replaced, and a concurrent stale save fails on the optimistic lock instead of being recorded.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProfileDistributionListener extends AbstractMongoEventListener<UserFinancialProfile> {
+    private final ProfileDistributionStore profileDistributionStore;
+    private final MongoTemplate mongoTemplate;
+
+    private final Map<PendingSave, UserFinancialProfile> pendingSaves = new ConcurrentHashMap<>();
+    private final Map<Document, UserFinancialProfile> pendingDeletes = new ConcurrentHashMap<>();
+
+    @Override
+    public void onBeforeSave(BeforeSaveEvent<UserFinancialProfile> event) {
+        UserFinancialProfile profile = event.getSource();
+        // Inserts get their ID from the write; updates carry the incremented version
+        if (profile.getId() == null || profile.getVersion() == null) {
+            return;
+        }
+
+        // Version 0 is the first update of a profile stored before versioning, which has no version field
+        Long replacedVersion = profile.getVersion() > 0 ? profile.getVersion() - 1 : null;
+        UserFinancialProfile previous = findDistributionValues(new Query(Criteria.where("id").is(profile.getId())
+                .and("version").is(replacedVersion)));
+        if (previous != null) {
+            pendingSaves.put(new PendingSave(profile.getId(), profile.getVersion()), previous);
+        }
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<UserFinancialProfile> event) {
+        UserFinancialProfile profile = event.getSource();
+        UserFinancialProfile previous = null;
+        if (profile.getId() != null && profile.getVersion() != null) {
+            previous = pendingSaves.remove(new PendingSave(profile.getId(), profile.getVersion()));
+            // Saves that lost the optimistic lock never complete; drop what they left behind
+            pendingSaves.keySet().removeIf(save -> save.id().equals(profile.getId())
+                    && save.version() < profile.getVersion());
+        }
+        profileDistributionStore.record(previous, profile);
+    }
+
+    @Override
+    public void onBeforeDelete(BeforeDeleteEvent<UserFinancialProfile> event) {
+        UserFinancialProfile profile = findDistributionValues(new BasicQuery(event.getDocument()));
+        if (profile != null) {
+            pendingDeletes.put(event.getDocument(), profile);
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<UserFinancialProfile> event) {
+        UserFinancialProfile profile = pendingDeletes.remove(event.getDocument());
+        if (profile != null) {
+            profileDistributionStore.record(profile, null);
+        }
+    }
+
+    private record PendingSave(String id, long version) {
+    }
+
+    private UserFinancialProfile findDistributionValues(Query query) {
+        query.fields().include("totalAnnualIncome", "creditScore", "debtToIncomeRatio", "employmentStatus");
+        return mongoTemplate.findOne(query, UserFinancialProfile.class);
+    }
+}
@@ -0,0 +1,209 @@
+package com.poalimflex.sketch;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOptions;
+import com.poalimflex.entity.UserFinancialProfile;
+import com.poalimflex.entity.UserFinancialProfile.EmploymentStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the profile distribution in {@code profile_distribution_sketches}. Each node collects the changes of
+ * its own profile writes in a pending delta and periodically adds it to the shared document with one
+ * {@code $inc} per non-zero count. Because every count is a plain sum, deltas from any number of nodes merge
+ * in any order. Reads combine the stored document with the node's unflushed delta.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ProfileDistributionStore {
+    static final String COLLECTION = "profile_distribution_sketches";
+    static final String DOCUMENT_ID = "user_financial_profiles";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Changes not yet flushed; guarded by {@code this}
+     */
+    private ProfileDistribution pending = new ProfileDistribution();
+
+    /**
+     * Record that {@code removed} was replaced by {@code added}; either may be null
+     */
+    public synchronized void record(UserFinancialProfile removed, UserFinancialProfile added) {
+        if (removed != null) {
+            pending.add(removed, -1);
+        }
+        if (added != null) {
+            pending.add(added, 1);
+        }
+    }
+
+    /**
+     * Add the pending delta to the stored distribution. On failure the delta is kept for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${poalim.flex.sketches.flush-interval-ms:30000}")
+    public void flush() {
+        ProfileDistribution delta;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            delta = pending;
+            pending = new ProfileDistribution();
+        }
+
+        try {
+            Document increments = toDocument(delta, true);
+            mongoTemplate.getCollection(COLLECTION).updateOne(
+                    Filters.eq("_id", DOCUMENT_ID),
+                    new Document("$inc", increments).append("$currentDate", new Document("last_flushed", true)),
+                    new UpdateOptions().upsert(true));
+            log.debug("Flushed {} profile distribution counts", increments.size());
+        } catch (RuntimeException e) {
+            log.warn("Could not flush the profile distribution; retrying with the next flush", e);
+            synchronized (this) {
+                pending.merge(delta);
+            }
+        }
+    }
+
+    /**
+     * Stored distribution with this node's unflushed changes applied
+     */
+    public ProfileDistribution snapshot() {
+        Document stored = mongoTemplate.getCollection(COLLECTION).find(Filters.eq("_id", DOCUMENT_ID)).first();
+        ProfileDistribution distribution = stored != null ? fromDocument(stored) : new ProfileDistribution();
+        synchronized (this) {
+            return distribution.merge(pending);
+        }
+    }
+
+    /**
+     * Recompute the distribution from every stored profile and replace the stored document. Profile writes
+     * during the scan would be counted twice or lost, and deltas flushed meanwhile would be overwritten, so
+     * this must run before the application takes traffic, as the backfill migration does.
+     *
+     * @return Number of profiles counted
+     */
+    public long rebuild() {
+        ProfileDistribution distribution = new ProfileDistribution();
+        Query query = new Query();
+        query.fields().include("totalAnnualIncome", "creditScore", "debtToIncomeRatio", "employmentStatus");
+        synchronized (this) {
+            // Changes recorded so far are for profiles already stored, which the scan counts
+            pending = new ProfileDistribution();
+        }
+        try (Stream<UserFinancialProfile> profiles = mongoTemplate.stream(query, UserFinancialProfile.class)) {
+            profiles.forEach(profile -> distribution.add(profile, 1));
+        }
+
+        mongoTemplate.getCollection(COLLECTION).replaceOne(
+                Filters.eq("_id", DOCUMENT_ID),
+                toDocument(distribution, false).append("last_flushed", new Date()),
+                new ReplaceOptions().upsert(true));
+        log.info("Rebuilt the profile distribution from {} profiles", distribution.profileCount());
+        return distribution.profileCount();
+    }
+
+    /**
+     * Counts of {@code distribution} as nested fields, or as dotted {@code $inc} paths with {@code flat}
+     */
+    private static Document toDocument(ProfileDistribution distribution, boolean flat) {
+        Document document = new Document();
+        put(document, flat, "profile_count", distribution.profileCount());
+        put(document, flat, "annual_income_total", distribution.annualIncomeTotal());
+        put(document, flat, "credit_score_total", distribution.creditScoreTotal());
+        putSketch(document, flat, "annual_income", distribution.annualIncome());
+        putSketch(document, flat, "credit_score", distribution.creditScore());
+        putSketch(document, flat, "debt_to_income_ratio", distribution.debtToIncomeRatio());
+        putCounts(document, flat, "annual_income_bins", distribution.annualIncomeBins().counts());
+        putCounts(document, flat, "credit_score_bins", distribution.creditScoreBins().counts());
+        distribution.employmentStatusCounts().forEach(
+                (status, count) -> put(document, flat, "employment_status." + status.name(), count));
+        return document;
+    }
+
+    private static void putSketch(Document document, boolean flat, String field, QuantileSketch sketch) {
+        put(document, flat, field + ".zero", sketch.zeroCount());
+        sketch.buckets().forEach((index, count) -> put(document, flat, field + ".buckets." + index, count));
+    }
+
+    private static void putCounts(Document document, boolean flat, String field, Map<String, Long> counts) {
+        counts.forEach((label, count) -> put(document, flat, field + "." + label, count));
+    }
+
+    /**
+     * Put {@code value} under a dotted path, skipping zero increments
+     */
+    private static void put(Document document, boolean flat, String path, long value) {
+        if (flat) {
+            if (value != 0) {
+                document.append(path, value);
+            }
+            return;
+        }
+
+        String[] parts = path.split("\\.");
+        Document parent = document;
+        for (int i = 0; i < parts.length - 1; i++) {
+            Object child = parent.get(parts[i]);
+            if (!(child instanceof Document)) {
+                child = new Document();
+                parent.append(parts[i], child);
+            }
+            parent = (Document) child;
+        }
+        parent.append(parts[parts.length - 1], value);
+    }
+
+    private static ProfileDistribution fromDocument(Document stored) {
+        ProfileDistribution distribution = new ProfileDistribution();
+        distribution.addTotals(longValue(stored.get("profile_count")), longValue(stored.get("annual_income_total")),
+                longValue(stored.get("credit_score_total")));
+        restoreSketch(stored.get("annual_income", Document.class), distribution.annualIncome());
+        restoreSketch(stored.get("credit_score", Document.class), distribution.creditScore());
+        restoreSketch(stored.get("debt_to_income_ratio", Document.class), distribution.debtToIncomeRatio());
+        restoreCounts(stored.get("annual_income_bins", Document.class), distribution.annualIncomeBins());
+        restoreCounts(stored.get("credit_score_bins", Document.class), distribution.creditScoreBins());
+
+        Document employmentStatus = stored.get("employment_status", Document.class);
+        if (employmentStatus != null) {
+            for (EmploymentStatus status : EmploymentStatus.values()) {
+                distribution.addEmploymentStatus(status, longValue(employmentStatus.get(status.name())));
+            }
+        }
+        return distribution;
+    }
+
+    private static void restoreSketch(Document stored, QuantileSketch sketch) {
+        if (stored == null) {
+            return;
+        }
+        sketch.addToZeroBucket(longValue(stored.get("zero")));
+        Document buckets = stored.get("buckets", Document.class);
+        if (buckets != null) {
+            buckets.forEach((index, count) -> sketch.addToBucket(Integer.parseInt(index), longValue(count)));
+        }
+    }
+
+    private static void restoreCounts(Document stored, FixedBinHistogram histogram) {
+        if (stored != null) {
+            stored.forEach((label, count) -> histogram.addToBin(label, longValue(count)));
+        }
+    }
+
+    private static long longValue(Object value) {
+        return value instanceof Number number ? number.longValue() : 0;
+    }
+}
@@ -0,0 +1,169 @@
+package com.poalimflex.sketch;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * DDSketch-style quantile sketch for non-negative values. Values are counted in logarithmic buckets
+ * {@code (gamma^(i-1), gamma^i]} with {@code gamma = (1 + a) / (1 - a)}, so every quantile is returned
+ * within relative accuracy {@code a} of an actual value. Bucket counts are plain sums, which makes sketches
+ * mergeable by addition and lets a value be removed by adding it with a negative count.
+ *
+ * <p>Memory and query cost depend on the range of the values, not on how many were added. Not thread safe.
+ */
+public final class QuantileSketch {
+    /**
+     * Values at or below this are counted in the zero bucket, as are negative values
+     */
+    private static final double MIN_INDEXABLE_VALUE = 1e-6;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+
+    private long[] counts = new long[0];
+    private int offset;
+    private long zeroCount;
+    private long count;
+
+    public QuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public double relativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /**
+     * Number of values currently counted
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Add {@code delta} occurrences of {@code value}; a negative delta removes previously added occurrences
+     */
+    public void add(double value, long delta) {
+        if (value <= MIN_INDEXABLE_VALUE) {
+            addToZeroBucket(delta);
+        } else {
+            addToBucket(bucketIndex(value), delta);
+        }
+    }
+
+    /**
+     * Add {@code delta} to the count of bucket {@code index}, as listed by {@link #buckets()}
+     */
+    public void addToBucket(int index, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        ensureCapacity(index);
+        counts[index - offset] += delta;
+        count += delta;
+    }
+
+    /**
+     * Add {@code delta} to the count of values at or below zero
+     */
+    public void addToZeroBucket(long delta) {
+        zeroCount += delta;
+        count += delta;
+    }
+
+    public long zeroCount() {
+        return zeroCount;
+    }
+
+    /**
+     * Non-empty buckets by index, in ascending order
+     */
+    public Map<Integer, Long> buckets() {
+        Map<Integer, Long> buckets = new TreeMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                buckets.put(i + offset, counts[i]);
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Value at quantile {@code q}, or NaN if the sketch is empty
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        if (count <= 0) {
+            return Double.NaN;
+        }
+
+        long rank = (long) Math.floor(q * (count - 1));
+        long seen = zeroCount;
+        if (seen > rank) {
+            return 0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return bucketValue(i + offset);
+            }
+        }
+        return counts.length > 0 ? bucketValue(offset + counts.length - 1) : 0;
+    }
+
+    /**
+     * Add every count of {@code other}, which must use the same relative accuracy
+     */
+    public QuantileSketch merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with different relative accuracy");
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            addToBucket(i + other.offset, other.counts[i]);
+        }
+        addToZeroBucket(other.zeroCount);
+        return this;
+    }
+
+    public QuantileSketch copy() {
+        return new QuantileSketch(relativeAccuracy).merge(this);
+    }
+
+    public boolean isEmpty() {
+        return zeroCount == 0 && Arrays.stream(counts).allMatch(c -> c == 0);
+    }
+
+    int bucketIndex(double value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    /**
+     * Point of bucket {@code index} whose relative distance to both bucket bounds is {@code relativeAccuracy}
+     */
+    double bucketValue(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+
+    private void ensureCapacity(int index) {
+        if (counts.length == 0) {
+            counts = new long[1];
+            offset = index;
+        } else if (index < offset) {
+            long[] grown = new long[counts.length + offset - index];
+            System.arraycopy(counts, 0, grown, offset - index, counts.length);
+            counts = grown;
+            offset = index;
+        } else if (index >= offset + counts.length) {
+            counts = Arrays.copyOf(counts, index - offset + 1);
+        }
+    }
+}